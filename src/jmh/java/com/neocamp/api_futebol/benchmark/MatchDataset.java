@@ -0,0 +1,81 @@
+package com.neocamp.api_futebol.benchmark;
+
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.entities.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Clubes e partidas sintéticos para os benchmarks, com semente fixa: o mesmo tamanho gera sempre os mesmos dados.
+// Também guarda as listas por clube que o banco devolveria, para o benchmark medir só o código do service.
+final class MatchDataset {
+
+    private static final State[] STATES = State.values();
+
+    final List<Club> clubs;
+
+    final List<Match> matches;
+
+    final List<MatchScoreDTO> scores;
+
+    private final List<List<Match>> matchesByClub;
+
+    MatchDataset(int clubCount, int matchCount, long seed) {
+        Random random = new Random(seed);
+        clubs = new ArrayList<>(clubCount);
+        matchesByClub = new ArrayList<>(clubCount);
+        for (int i = 0; i < clubCount; i++) {
+            Club club = new Club("Clube " + i, STATES[i % STATES.length], LocalDate.of(1900, 1, 1).plusDays(i));
+            club.setId(i + 1L);
+            club.setActive(true);
+            clubs.add(club);
+            matchesByClub.add(new ArrayList<>());
+        }
+
+        List<Stadium> stadiums = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, clubCount / 2); i++) {
+            stadiums.add(new Stadium("Estádio " + i));
+        }
+
+        matches = new ArrayList<>(matchCount);
+        scores = new ArrayList<>(matchCount);
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 16, 0);
+        for (int i = 0; i < matchCount; i++) {
+            int home = random.nextInt(clubCount);
+            int away = (home + 1 + random.nextInt(clubCount - 1)) % clubCount;
+            Match match = new Match(clubs.get(home), clubs.get(away), stadiums.get(random.nextInt(stadiums.size())),
+                    start.plusHours(i), random.nextInt(5), random.nextInt(4));
+            matches.add(match);
+            scores.add(new MatchScoreDTO(home + 1L, away + 1L, match.getHomeGoals(), match.getAwayGoals()));
+            matchesByClub.get(home).add(match);
+            matchesByClub.get(away).add(match);
+        }
+    }
+
+    Club club(long id) {
+        return id >= 1 && id <= clubs.size() ? clubs.get((int) id - 1) : null;
+    }
+
+    List<Match> matchesFor(long clubId) {
+        return matchesByClub.get((int) clubId - 1);
+    }
+
+    // Confrontos do clube contra o adversário, do ponto de vista do clube (lado null, "casa" ou "fora")
+    List<Match> matchesBetween(long clubId, long oppId, String side) {
+        List<Match> between = new ArrayList<>();
+        for (Match match : matchesFor(clubId)) {
+            boolean home = match.getHomeClub().getId() == clubId;
+            long opp = home ? match.getAwayClub().getId() : match.getHomeClub().getId();
+            if (opp == oppId && (side == null || home == "casa".equalsIgnoreCase(side))) {
+                between.add(match);
+            }
+        }
+        return between;
+    }
+}
@@ -0,0 +1,168 @@
+package com.neocamp.api_futebol.benchmark;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesResponseDTO;
+import com.neocamp.api_futebol.dtos.response.OppRetrospectDTO;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import com.neocamp.api_futebol.services.HeadToHeadCache;
+import com.neocamp.api_futebol.services.MatchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Caminhos de análise do MatchService sobre dados em memória: ranking (stream), confronto direto e
+// mapeamento para DTO. Os repositórios são substituídos por respostas pré-calculadas, então o número
+// medido é só o do service. O retrospecto do clube não entra: é uma leitura pela chave do club_stats,
+// sem trabalho no service para medir aqui.
+//
+//   mvn test -Pjmh
+//   mvn test -Pjmh -Djmh.args="MatchServiceBenchmark.ranking -p clubs=100 -p matches=100000 -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class MatchServiceBenchmark {
+
+    @Param("1000")
+    int clubs;
+
+    @Param("1000000")
+    int matches;
+
+    // "todos" = sem filtro de lado; -p side=todos,casa,fora compara os três
+    @Param("todos")
+    String side;
+
+    @Param("20")
+    int pageSize;
+
+    private MatchService matchService;
+
+    private MatchService uncachedMatchService;
+
+    private MatchDataset dataset;
+
+    private long clubId;
+
+    private long oppId;
+
+    private String sideFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = new MatchDataset(clubs, matches, 42L);
+        sideFilter = "todos".equals(side) ? null : side;
+        clubId = 1L;
+        oppId = mostFrequentOpponent(clubId);
+        // o banco agregaria o confronto; aqui ele sai pronto para o par
+        List<ClubSideStatsDTO> headToHead = headToHeadRows(clubId, oppId);
+
+        ClubRepository clubRepository = stub(ClubRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(dataset.club((Long) args[0])),
+                "existsById", args -> dataset.club((Long) args[0]) != null,
+                "findAllById", args -> ((List<?>) args[0]).stream().map(id -> dataset.club((Long) id)).toList(),
+                "findAll", args -> dataset.clubs));
+        MatchRepository matchRepository = stub(MatchRepository.class, Map.of(
+                "findAllScores", args -> dataset.scores,
+                "findHeadToHeadByHomeClub", args -> headToHead,
+                "findWithFilters", args -> page((Pageable) args[4])));
+        // o confronto direto passa pelo cache: um service acerta sempre depois da primeira chamada, o outro
+        // (cache de tamanho 0) monta o HeadToHead das linhas agregadas a cada chamada
+        matchService = new MatchService(matchRepository, null, clubRepository, null,
+                null, null, new HeadToHeadCache(matchRepository, 10_000, Duration.ofHours(1)));
+        uncachedMatchService = new MatchService(matchRepository, null, clubRepository, null,
+                null, null, new HeadToHeadCache(matchRepository, 0, Duration.ofHours(1)));
+    }
+
+    @Benchmark
+    public List<ClubRankingDTO> ranking() {
+        return matchService.rankClubsByFilterStream("pontos");
+    }
+
+    @Benchmark
+    public OppRetrospectDTO headToHeadCached() {
+        return matchService.getOneOppRestrospect(clubId, oppId, sideFilter);
+    }
+
+    @Benchmark
+    public OppRetrospectDTO headToHeadUncached() {
+        return uncachedMatchService.getOneOppRestrospect(clubId, oppId, sideFilter);
+    }
+
+    @Benchmark
+    public Page<MatchesResponseDTO> dtoMapping() {
+        return matchService.searchMatches(null, null, null, null, PageRequest.of(0, pageSize));
+    }
+
+    private Page<Match> page(Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), dataset.matches.size());
+        int to = Math.min(from + pageable.getPageSize(), dataset.matches.size());
+        return new PageImpl<>(dataset.matches.subList(from, to), pageable, dataset.matches.size());
+    }
+
+    // o que findHeadToHeadByHomeClub devolveria: uma linha por mandante, do ponto de vista dele
+    private List<ClubSideStatsDTO> headToHeadRows(long id, long oppId) {
+        Map<Long, long[]> totals = new HashMap<>();
+        for (Match match : dataset.matchesBetween(id, oppId, null)) {
+            long[] row = totals.computeIfAbsent(match.getHomeClub().getId(), home -> new long[6]);
+            int scored = match.getHomeGoals();
+            int conceded = match.getAwayGoals();
+            row[0]++;
+            row[scored > conceded ? 1 : scored == conceded ? 2 : 3]++;
+            row[4] += scored;
+            row[5] += conceded;
+        }
+        return totals.entrySet().stream()
+                .map(e -> new ClubSideStatsDTO(e.getKey(), e.getValue()[0], e.getValue()[1], e.getValue()[2],
+                        e.getValue()[3], e.getValue()[4], e.getValue()[5]))
+                .toList();
+    }
+
+    private long mostFrequentOpponent(long id) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Match match : dataset.matchesFor(id)) {
+            Long opp = match.getHomeClub().getId() == id ? match.getAwayClub().getId() : match.getHomeClub().getId();
+            counts.merge(opp, 1, Integer::sum);
+        }
+        return counts.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey).orElse(id + 1);
+    }
+
+    // Implementa só os métodos usados pelo benchmark; qualquer outro falha alto
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.neocamp.api_futebol.config;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Tags dos @Timed dos services. Os valores vêm da requisição, então só os conhecidos viram tag
+// e o resto cai em "invalido": texto livre do cliente não pode multiplicar as séries.
+@Configuration
+public class MetricsConfiguration {
+
+    private static final Set<String> RANKING_FILTERS = Set.of("pontos", "gols", "vitorias", "partidas");
+
+    private static final Set<String> RETROSPECT_SIDES = Set.of("casa", "fora");
+
+    private static final String INVALID = "invalido";
+
+    @Bean
+    public MeterTagAnnotationHandler meterTagAnnotationHandler() {
+        Map<Class<? extends ValueResolver>, ValueResolver> resolvers = Map.of(
+                RankingFilterTag.class, new RankingFilterTag(),
+                RetrospectSideTag.class, new RetrospectSideTag());
+        // tags por expressão não são usadas; se alguma aparecer, vira "invalido" em vez de falhar a chamada
+        ValueExpressionResolver noExpressions = (expression, parameter) -> INVALID;
+        return new MeterTagAnnotationHandler(resolvers::get, type -> noExpressions);
+    }
+
+    public static class RankingFilterTag implements ValueResolver {
+        @Override
+        public String resolve(Object parameter) {
+            return known(parameter, RANKING_FILTERS, INVALID);
+        }
+    }
+
+    // sem lado informado: retrospecto de todas as partidas
+    public static class RetrospectSideTag implements ValueResolver {
+        @Override
+        public String resolve(Object parameter) {
+            return parameter == null ? "todos" : known(parameter, RETROSPECT_SIDES, INVALID);
+        }
+    }
+
+    private static String known(Object parameter, Set<String> values, String fallback) {
+        String value = parameter == null ? "" : parameter.toString().toLowerCase(Locale.ROOT);
+        return values.contains(value) ? value : fallback;
+    }
+}
@@ -0,0 +1,91 @@
+package com.neocamp.api_futebol.config;
+
+import java.util.Locale;
+
+// Tempos de uma requisição, preenchidos na thread que a atende: SQL (pelo proxy do DataSource),
+// chamadas HTTP externas (ViaCepService) e escrita do corpo da resposta (ServerTimingAdvice).
+// Sem o ServerTimingFilter ativo não há instância corrente e os registros são ignorados.
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+
+    private int sqlCount;
+
+    private long sqlNanos;
+
+    private long httpNanos;
+
+    private long serializationStartNanos;
+
+    private RequestTimings() {
+    }
+
+    static RequestTimings start() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    // Dispatch assíncrono da mesma requisição, em outra thread
+    static void resume(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void recordSql(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.sqlCount++;
+            timings.sqlNanos += nanos;
+        }
+    }
+
+    public static void recordHttp(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.httpNanos += nanos;
+        }
+    }
+
+    static void markSerializationStart() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.serializationStartNanos == 0) {
+            timings.serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    Summary finish() {
+        long end = System.nanoTime();
+        long serialization = serializationStartNanos == 0 ? 0 : end - serializationStartNanos;
+        return new Summary(sqlCount, millis(sqlNanos), millis(httpNanos), millis(serialization), millis(end - startNanos));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    // app = o que sobra do total: código Java da requisição (validações, agregações, mapeamento)
+    record Summary(int sqlCount, double sqlMillis, double httpMillis, double serializationMillis, double totalMillis) {
+
+        double appMillis() {
+            return Math.max(0, totalMillis - sqlMillis - httpMillis - serializationMillis);
+        }
+
+        String serverTiming() {
+            return String.format(Locale.ROOT,
+                    "sql;dur=%.2f;desc=\"%d statements\", http;dur=%.2f, app;dur=%.2f, serialization;dur=%.2f, total;dur=%.2f",
+                    sqlMillis, sqlCount, httpMillis, appMillis(), serializationMillis, totalMillis);
+        }
+
+        String logFields() {
+            return String.format(Locale.ROOT,
+                    "sql_count=%d sql_ms=%.2f http_ms=%.2f app_ms=%.2f serialization_ms=%.2f total_ms=%.2f",
+                    sqlCount, sqlMillis, httpMillis, appMillis(), serializationMillis, totalMillis);
+        }
+    }
+}
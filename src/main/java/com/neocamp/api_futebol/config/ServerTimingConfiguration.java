@@ -0,0 +1,58 @@
+package com.neocamp.api_futebol.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+// Diagnóstico por requisição, desligado por padrão: com server-timing.enabled=false nem o proxy
+// do DataSource nem o filtro existem, e o custo é zero
+@Configuration
+@ConditionalOnProperty(name = "server-timing.enabled", havingValue = "true")
+public class ServerTimingConfiguration {
+
+    private static final String START_NANOS = "serverTiming.startNanos";
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        // o primeiro da cadeia: o total cobre os outros filtros também
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // Cada comando (ou lote) JDBC da thread da requisição soma na contagem e no tempo de SQL
+    @Bean
+    static BeanPostProcessor serverTimingDataSourceProxy() {
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                execInfo.addCustomValue(START_NANOS, System.nanoTime());
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+                Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+                RequestTimings.recordSql(start == null ? 0 : System.nanoTime() - start);
+            }
+        };
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(listener).build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.neocamp.api_futebol.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+// Server-Timing e linha de access log por requisição (server-timing.enabled=true).
+// O corpo fica em buffer até o fim: o cabeçalho só pode ir antes dele, e os tempos só existem depois.
+// Resposta em stream (StreamingResponseBody) é escrita depois do primeiro dispatch, em outra thread:
+// o buffer e os tempos seguem pela requisição e o corpo só sai no dispatch assíncrono final.
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("api.access");
+
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+
+    private static final String WRAPPER_ATTRIBUTE = ServerTimingFilter.class.getName() + ".wrapper";
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = (ContentCachingResponseWrapper) request.getAttribute(WRAPPER_ATTRIBUTE);
+        RequestTimings timings = (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+        if (wrapper == null || timings == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+            timings = RequestTimings.start();
+            request.setAttribute(WRAPPER_ATTRIBUTE, wrapper);
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+        } else {
+            RequestTimings.resume(timings);
+        }
+        try {
+            chain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.clear();
+            if (!request.isAsyncStarted()) {
+                RequestTimings.Summary summary = timings.finish();
+                wrapper.setHeader("Server-Timing", summary.serverTiming());
+                wrapper.copyBodyToResponse();
+                ACCESS_LOG.info("method={} path={} status={} {}", request.getMethod(), request.getRequestURI(),
+                        wrapper.getStatus(), summary.logFields());
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.neocamp.api_futebol.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.services.HeadToHeadMatrix;
+import com.neocamp.api_futebol.services.HeadToHeadMatrixService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final HeadToHeadMatrixService headToHeadMatrixService;
+
+    private final ObjectMapper objectMapper;
+
+    public AnalyticsController(HeadToHeadMatrixService headToHeadMatrixService, ObjectMapper objectMapper) {
+        this.headToHeadMatrixService = headToHeadMatrixService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Matriz montada antes de responder (erros viram 400 normal); só a escrita é em stream
+    @GetMapping("/head-to-head-matrix")
+    public ResponseEntity<StreamingResponseBody> getHeadToHeadMatrix(
+            @RequestParam(required = false) State state,
+            @RequestParam(defaultValue = "json") String format
+    ) {
+        boolean binary = switch (format.toLowerCase(Locale.ROOT)) {
+            case "json" -> false;
+            case "binary" -> true;
+            default -> throw new BadRequestException("Formato inválido!");
+        };
+        HeadToHeadMatrix matrix = headToHeadMatrixService.build(state);
+        if (binary) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(matrix::writeBinary);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> matrix.writeJson(objectMapper.getFactory(), out));
+    }
+}
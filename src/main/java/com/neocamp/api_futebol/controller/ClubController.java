@@ -1,11 +1,15 @@
 package com.neocamp.api_futebol.controller;
 
 import com.neocamp.api_futebol.dtos.request.ClubsRequestDTO;
+import com.neocamp.api_futebol.dtos.request.RetrospectBatchRequestDTO;
+import com.neocamp.api_futebol.dtos.response.ClubStatsCheckDTO;
 import com.neocamp.api_futebol.dtos.response.ClubsResponseDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
 import com.neocamp.api_futebol.dtos.response.OppRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.RetrospectBatchEntryDTO;
 import com.neocamp.api_futebol.entities.State;
 import com.neocamp.api_futebol.services.ClubService;
+import com.neocamp.api_futebol.services.ClubStatsService;
 import com.neocamp.api_futebol.services.MatchService;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
@@ -17,16 +21,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/clubs")
 public class ClubController {
     private final ClubService clubService;
     private final MatchService matchService;
+    private final ClubStatsService clubStatsService;
 
-    public ClubController(ClubService clubService, MatchService matchService) {
+    public ClubController(ClubService clubService, MatchService matchService, ClubStatsService clubStatsService) {
         this.clubService = clubService;
         this.matchService = matchService;
+        this.clubStatsService = clubStatsService;
     }
 
     @PostMapping
@@ -67,12 +74,31 @@ public class ClubController {
         return ResponseEntity.ok().body(page);
     }
 
+    // Compara club_stats com o recálculo a partir de matches; divergências são corrigidas pelo rebuild
+    @GetMapping("/stats/check")
+    public ResponseEntity<ClubStatsCheckDTO> checkClubStats() {
+        return ResponseEntity.ok().body(clubStatsService.check());
+    }
+
+    @PostMapping("/stats/rebuild")
+    public ResponseEntity<Void> rebuildClubStats() {
+        clubStatsService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{id}/retrospect")
     public ResponseEntity<MatchesRetrospectDTO> getClubRetrospective(@PathVariable Long id, @RequestParam(required = false) String side) {
         var matchesRetrospectDTO = matchService.getClubRetrospective(id, side);
         return ResponseEntity.ok().body(matchesRetrospectDTO);
     }
 
+    // Chaves do mapa = ids dos clubes pedidos
+    @PostMapping("/retrospect:batch")
+    public ResponseEntity<Map<Long, RetrospectBatchEntryDTO>> getClubRetrospectives(@RequestBody @Valid RetrospectBatchRequestDTO retrospectBatchRequestDTO) {
+        var retrospects = matchService.getClubRetrospectives(retrospectBatchRequestDTO.clubIds(), retrospectBatchRequestDTO.side());
+        return ResponseEntity.ok().body(retrospects);
+    }
+
     @GetMapping("/{id}/opp/retrospect")
     public ResponseEntity<List<OppRetrospectDTO>> getClubOppRetrospective(@PathVariable Long id, @RequestParam(required = false) String side) {
         List<OppRetrospectDTO> oppRetrospectDTOList = matchService.getOppRetrospects(id, side);
@@ -1,7 +1,10 @@
 package com.neocamp.api_futebol.controller;
 
 import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesCursorPageDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesImportResponseDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesResponseDTO;
+import com.neocamp.api_futebol.services.MatchImportService;
 import com.neocamp.api_futebol.services.MatchService;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
@@ -12,13 +15,18 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/matches")
 public class MatchController {
     private final MatchService matchService;
 
-    public MatchController(MatchService matchService) {
+    private final MatchImportService matchImportService;
+
+    public MatchController(MatchService matchService, MatchImportService matchImportService) {
         this.matchService = matchService;
+        this.matchImportService = matchImportService;
     }
 
     @PostMapping
@@ -27,6 +35,13 @@ public class MatchController {
         return ResponseEntity.status(HttpStatus.CREATED).body(matchesResponseDTO);
     }
 
+    // Importação em lote: cada partida é validada e o resultado volta linha a linha
+    @PostMapping("/bulk")
+    public ResponseEntity<MatchesImportResponseDTO> importMatches(@RequestBody List<MatchesRequestDTO> matches) {
+        MatchesImportResponseDTO response = matchImportService.importMatches(matches);
+        return ResponseEntity.ok().body(response);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<MatchesResponseDTO> updateMatch(@PathVariable Long id, @RequestBody MatchesRequestDTO matchesRequestDTO) {
         MatchesResponseDTO matchesResponseDTO = matchService.updateMatch(id, matchesRequestDTO);
@@ -58,4 +73,18 @@ public class MatchController {
         Page<MatchesResponseDTO> page = matchService.searchMatches(clubId, stadiumId, routs, side, pageable);
         return ResponseEntity.ok().body(page);
     }
+
+    // Modo cursor: ativado pelo parâmetro "after" (vazio na primeira página)
+    @GetMapping(params = "after")
+    public ResponseEntity<MatchesCursorPageDTO> getAllAfter(
+            @RequestParam(required = false) Long clubId,
+            @RequestParam(required = false) Long stadiumId,
+            @RequestParam(required = false) Boolean routs,
+            @RequestParam(required = false) String side,
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size
+    ){
+        MatchesCursorPageDTO page = matchService.searchMatchesAfter(clubId, stadiumId, routs, side, after, size);
+        return ResponseEntity.ok().body(page);
+    }
 }
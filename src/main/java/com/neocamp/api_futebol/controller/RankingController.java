@@ -2,11 +2,11 @@ package com.neocamp.api_futebol.controller;
 
 import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
 import com.neocamp.api_futebol.services.MatchService;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
@@ -21,8 +21,13 @@ public class RankingController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ClubRankingDTO>> getRanking(@RequestParam(defaultValue = "pontos") String filter) {
-        List<ClubRankingDTO> clubRankingDTOList = matchService.rankClubsByFilter(filter);
+    public ResponseEntity<List<ClubRankingDTO>> getRanking(
+            @RequestParam(defaultValue = "pontos") String filter,
+            @ParameterObject
+            @PageableDefault(size = 20, page = 0)
+            Pageable pageable
+    ) {
+        List<ClubRankingDTO> clubRankingDTOList = matchService.rankClubsByFilter(filter, pageable);
         return ResponseEntity.ok(clubRankingDTOList);
     }
 
@@ -3,6 +3,9 @@ package com.neocamp.api_futebol.controller;
 import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
 import com.neocamp.api_futebol.dtos.request.StadiumUpdateDTO;
 import com.neocamp.api_futebol.dtos.response.StadiumResponseDTO;
+import com.neocamp.api_futebol.dtos.response.StadiumsImportResponseDTO;
+import com.neocamp.api_futebol.entities.AddressStatus;
+import com.neocamp.api_futebol.services.StadiumImportService;
 import com.neocamp.api_futebol.services.StadiumService;
 import jakarta.validation.Valid;
 import org.springdoc.core.annotations.ParameterObject;
@@ -20,20 +23,32 @@ import java.util.List;
 public class StadiumController {
     private final StadiumService stadiumService;
 
-    public StadiumController(StadiumService stadiumService) {
+    private final StadiumImportService stadiumImportService;
+
+    public StadiumController(StadiumService stadiumService, StadiumImportService stadiumImportService) {
         this.stadiumService = stadiumService;
+        this.stadiumImportService = stadiumImportService;
     }
 
     @PostMapping
     public ResponseEntity<StadiumResponseDTO> createStadium(@RequestBody @Valid StadiumRequestDTO stadiumRequestDTO){
         StadiumResponseDTO stadiumResponseDTO = stadiumService.createStadium(stadiumRequestDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(stadiumResponseDTO);
+        // endereço ainda em resolução: 202, o cliente acompanha por GET /stadiums/{id}
+        HttpStatus status = stadiumResponseDTO.addressStatus() == AddressStatus.PENDING ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        return ResponseEntity.status(status).body(stadiumResponseDTO);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<StadiumsImportResponseDTO> importStadiums(@RequestBody List<StadiumRequestDTO> stadiums) {
+        StadiumsImportResponseDTO response = stadiumImportService.importStadiums(stadiums);
+        return ResponseEntity.ok().body(response);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<StadiumResponseDTO>  updateStadium(@PathVariable Long id, @RequestBody @Valid StadiumUpdateDTO stadiumRequestDTO){
         StadiumResponseDTO stadiumResponseDTO = stadiumService.updateStadium(id, stadiumRequestDTO);
-        return ResponseEntity.ok().body(stadiumResponseDTO);
+        HttpStatus status = stadiumResponseDTO.addressStatus() == AddressStatus.PENDING ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(stadiumResponseDTO);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,15 @@
+package com.neocamp.api_futebol.dtos.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RetrospectBatchRequestDTO(
+        @NotEmpty(message = "Lista de clubes é obrigatória!")
+        @Size(max = 100, message = "No máximo 100 clubes por lote!")
+        List<@NotNull(message = "Id do clube é obrigatório!") Long> clubIds,
+        String side
+) {
+}
@@ -0,0 +1,12 @@
+package com.neocamp.api_futebol.dtos.response;
+
+public record ClubRetrospectDTO(
+        Long clubId,
+        String clubName,
+        int matches,
+        int victories,
+        int draws,
+        int defeats,
+        int goalsFor,
+        int goalsAgainst
+) {}
@@ -0,0 +1,11 @@
+package com.neocamp.api_futebol.dtos.response;
+
+// Totais de um clube num lado (casa ou fora), recalculados a partir de matches
+public record ClubSideStatsDTO(Long clubId,
+                               Long matches,
+                               Long victories,
+                               Long draws,
+                               Long defeats,
+                               Long goalsFor,
+                               Long goalsAgainst) {
+}
@@ -0,0 +1,9 @@
+package com.neocamp.api_futebol.dtos.response;
+
+import java.util.List;
+
+// clubsWithDrift conta todos os clubes divergentes; drifts traz só os primeiros
+public record ClubStatsCheckDTO(int clubsChecked,
+                                int clubsWithDrift,
+                                List<ClubStatsDriftDTO> drifts) {
+}
@@ -0,0 +1,7 @@
+package com.neocamp.api_futebol.dtos.response;
+
+public record ClubStatsDriftDTO(Long clubId,
+                                String field,
+                                long expected,
+                                long actual) {
+}
@@ -0,0 +1,6 @@
+package com.neocamp.api_futebol.dtos.response;
+
+public enum ImportStatus {
+    CREATED,
+    REJECTED
+}
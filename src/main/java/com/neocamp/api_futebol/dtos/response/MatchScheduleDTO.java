@@ -0,0 +1,18 @@
+package com.neocamp.api_futebol.dtos.response;
+
+import com.neocamp.api_futebol.entities.Match;
+
+import java.time.LocalDateTime;
+
+public record MatchScheduleDTO(
+        Long matchId,
+        Long homeClubId,
+        Long awayClubId,
+        Long stadiumId,
+        LocalDateTime matchDateTime
+) {
+    public static MatchScheduleDTO of(Match match) {
+        return new MatchScheduleDTO(match.getId(), match.getHomeClub().getId(), match.getAwayClub().getId(),
+                match.getStadium().getId(), match.getMatchDateTime());
+    }
+}
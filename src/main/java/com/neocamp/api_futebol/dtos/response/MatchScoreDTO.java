@@ -0,0 +1,8 @@
+package com.neocamp.api_futebol.dtos.response;
+
+public record MatchScoreDTO(
+        Long homeClubId,
+        Long awayClubId,
+        Integer homeGoals,
+        Integer awayGoals
+) {}
@@ -0,0 +1,8 @@
+package com.neocamp.api_futebol.dtos.response;
+
+import java.util.List;
+
+public record MatchesCursorPageDTO(
+        List<MatchesResponseDTO> content,
+        String nextCursor
+) {}
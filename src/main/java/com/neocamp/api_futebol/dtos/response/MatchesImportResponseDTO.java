@@ -0,0 +1,9 @@
+package com.neocamp.api_futebol.dtos.response;
+
+import java.util.List;
+
+public record MatchesImportResponseDTO(
+        int created,
+        int rejected,
+        List<MatchesImportRowDTO> results
+) {}
@@ -0,0 +1,8 @@
+package com.neocamp.api_futebol.dtos.response;
+
+public record MatchesImportRowDTO(
+        int index,
+        ImportStatus status,
+        Long id,
+        String message
+) {}
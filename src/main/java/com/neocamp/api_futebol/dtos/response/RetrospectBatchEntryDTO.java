@@ -0,0 +1,7 @@
+package com.neocamp.api_futebol.dtos.response;
+
+// Um clube do lote: retrospect preenchido, ou error quando o clube não existe
+public record RetrospectBatchEntryDTO(
+        MatchesRetrospectDTO retrospect,
+        String error
+) {}
@@ -1,15 +1,17 @@
 package com.neocamp.api_futebol.dtos.response;
 
 import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.AddressStatus;
 import com.neocamp.api_futebol.entities.Stadium;
 
 public record StadiumResponseDTO(
         Long id,
         String name,
         Address address,
+        AddressStatus addressStatus,
         Boolean active
 ) {
     public StadiumResponseDTO(Stadium stadium){
-       this(stadium.getId(), stadium.getName(), stadium.getAddress(), stadium.getActive());
+       this(stadium.getId(), stadium.getName(), stadium.getAddress(), stadium.getAddressStatus(), stadium.getActive());
     }
 }
@@ -0,0 +1,9 @@
+package com.neocamp.api_futebol.dtos.response;
+
+import java.util.List;
+
+public record StadiumsImportResponseDTO(
+        int created,
+        int rejected,
+        List<StadiumsImportRowDTO> results
+) {}
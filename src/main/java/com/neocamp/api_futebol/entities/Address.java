@@ -10,6 +10,16 @@ public class Address {
         private String localidade;
         private String uf;
 
+    public Address() {
+    }
+
+    public Address(Address other) {
+        this.cep = other.cep;
+        this.logradouro = other.logradouro;
+        this.bairro = other.bairro;
+        this.localidade = other.localidade;
+        this.uf = other.uf;
+    }
 
     public String getCep() {
         return cep;
@@ -0,0 +1,8 @@
+package com.neocamp.api_futebol.entities;
+
+// Situação da resolução do CEP do estádio no ViaCEP
+public enum AddressStatus {
+    PENDING,
+    RESOLVED,
+    FAILED
+}
@@ -0,0 +1,120 @@
+package com.neocamp.api_futebol.entities;
+
+import jakarta.persistence.*;
+
+// Retrospecto do clube por lado (casa/fora), mantido por delta nas escritas de partidas
+@Entity
+@Table(name = "club_stats")
+public class ClubStats {
+    @Id
+    private Long clubId;
+
+    @Column(nullable = false)
+    private Long homeMatches = 0L;
+
+    @Column(nullable = false)
+    private Long homeVictories = 0L;
+
+    @Column(nullable = false)
+    private Long homeDraws = 0L;
+
+    @Column(nullable = false)
+    private Long homeDefeats = 0L;
+
+    @Column(nullable = false)
+    private Long homeGoalsFor = 0L;
+
+    @Column(nullable = false)
+    private Long homeGoalsAgainst = 0L;
+
+    @Column(nullable = false)
+    private Long awayMatches = 0L;
+
+    @Column(nullable = false)
+    private Long awayVictories = 0L;
+
+    @Column(nullable = false)
+    private Long awayDraws = 0L;
+
+    @Column(nullable = false)
+    private Long awayDefeats = 0L;
+
+    @Column(nullable = false)
+    private Long awayGoalsFor = 0L;
+
+    @Column(nullable = false)
+    private Long awayGoalsAgainst = 0L;
+
+    public ClubStats() {
+    }
+
+    public ClubStats(Long clubId,
+                     Long homeMatches, Long homeVictories, Long homeDraws, Long homeDefeats, Long homeGoalsFor, Long homeGoalsAgainst,
+                     Long awayMatches, Long awayVictories, Long awayDraws, Long awayDefeats, Long awayGoalsFor, Long awayGoalsAgainst) {
+        this.clubId = clubId;
+        this.homeMatches = homeMatches;
+        this.homeVictories = homeVictories;
+        this.homeDraws = homeDraws;
+        this.homeDefeats = homeDefeats;
+        this.homeGoalsFor = homeGoalsFor;
+        this.homeGoalsAgainst = homeGoalsAgainst;
+        this.awayMatches = awayMatches;
+        this.awayVictories = awayVictories;
+        this.awayDraws = awayDraws;
+        this.awayDefeats = awayDefeats;
+        this.awayGoalsFor = awayGoalsFor;
+        this.awayGoalsAgainst = awayGoalsAgainst;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public Long getHomeMatches() {
+        return homeMatches;
+    }
+
+    public Long getHomeVictories() {
+        return homeVictories;
+    }
+
+    public Long getHomeDraws() {
+        return homeDraws;
+    }
+
+    public Long getHomeDefeats() {
+        return homeDefeats;
+    }
+
+    public Long getHomeGoalsFor() {
+        return homeGoalsFor;
+    }
+
+    public Long getHomeGoalsAgainst() {
+        return homeGoalsAgainst;
+    }
+
+    public Long getAwayMatches() {
+        return awayMatches;
+    }
+
+    public Long getAwayVictories() {
+        return awayVictories;
+    }
+
+    public Long getAwayDraws() {
+        return awayDraws;
+    }
+
+    public Long getAwayDefeats() {
+        return awayDefeats;
+    }
+
+    public Long getAwayGoalsFor() {
+        return awayGoalsFor;
+    }
+
+    public Long getAwayGoalsAgainst() {
+        return awayGoalsAgainst;
+    }
+}
@@ -5,7 +5,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "idx_matches_date_id", columnList = "matchDateTime, id"),
+        @Index(name = "idx_matches_home_club_date", columnList = "homeClub_id, matchDateTime"),
+        @Index(name = "idx_matches_away_club_date", columnList = "awayClub_id, matchDateTime"),
+        @Index(name = "idx_matches_stadium_date", columnList = "stadium_id, matchDateTime")
+})
 public class Match {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -12,6 +12,9 @@ public class Stadium {
     private Boolean active = true;
     @Embedded
     private Address address;
+    // null em registros anteriores à resolução assíncrona: tratados como RESOLVED
+    @Enumerated(EnumType.STRING)
+    private AddressStatus addressStatus;
 
 
     public Stadium(String name) {
@@ -55,6 +58,14 @@ public class Stadium {
         this.address = address;
     }
 
+    public AddressStatus getAddressStatus() {
+        return addressStatus == null ? AddressStatus.RESOLVED : addressStatus;
+    }
+
+    public void setAddressStatus(AddressStatus addressStatus) {
+        this.addressStatus = addressStatus;
+    }
+
     public void setId(long l) {
 
     }
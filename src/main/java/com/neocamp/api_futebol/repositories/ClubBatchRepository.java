@@ -0,0 +1,61 @@
+package com.neocamp.api_futebol.repositories;
+
+import com.neocamp.api_futebol.entities.Club;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// INSERT de clubes em lotes JDBC, no mesmo esquema do MatchBatchRepository
+@Repository
+public class ClubBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO clubs (name, state, active, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClubBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Devolve os ids gerados na mesma ordem dos clubes
+    public List<Long> insertAll(List<Club> clubs) {
+        List<Long> ids = new ArrayList<>(clubs.size());
+        for (int from = 0; from < clubs.size(); from += BATCH_SIZE) {
+            List<Club> chunk = clubs.subList(from, Math.min(from + BATCH_SIZE, clubs.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Club club = chunk.get(i);
+                            ps.setString(1, club.getName());
+                            ps.setString(2, club.getState().name());
+                            ps.setBoolean(3, club.getActive());
+                            ps.setDate(4, Date.valueOf(club.getCreatedAt()));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ClubRepository extends JpaRepository<Club, Long> {
@@ -16,6 +17,8 @@ public interface ClubRepository extends JpaRepository<Club, Long> {
 
     Optional<Club> findByIdAndActiveTrue(Long id);
 
+    List<Club> findByStateOrderByIdAsc(State state);
+
     @Query("""
             SELECT c FROM Club c
     WHERE (:name IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%')))
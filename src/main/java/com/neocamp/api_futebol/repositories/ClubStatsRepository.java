@@ -0,0 +1,229 @@
+package com.neocamp.api_futebol.repositories;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
+import com.neocamp.api_futebol.entities.ClubStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ClubStatsRepository extends JpaRepository<ClubStats, Long> {
+
+    // Retrospecto pela chave primária de clubs e club_stats; home/away escolhem os lados somados.
+    // Clube sem partidas não tem linha em club_stats (zeros); vazio quando o clube não existe.
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO(
+        c.name,
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeMatches, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayMatches, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeVictories, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayVictories, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeDraws, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayDraws, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeDefeats, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayDefeats, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeGoalsFor, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayGoalsFor, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeGoalsAgainst, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayGoalsAgainst, 0) ELSE 0 END) AS Integer))
+    FROM Club c
+    LEFT JOIN ClubStats s ON s.clubId = c.id
+    WHERE c.id = :clubId
+    """)
+    Optional<MatchesRetrospectDTO> findRetrospective(@Param("clubId") Long clubId, @Param("home") boolean home, @Param("away") boolean away);
+
+    // O mesmo retrospecto para vários clubes numa consulta; clube inexistente simplesmente não volta
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO(
+        c.id,
+        c.name,
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeMatches, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayMatches, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeVictories, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayVictories, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeDraws, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayDraws, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeDefeats, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayDefeats, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeGoalsFor, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayGoalsFor, 0) ELSE 0 END) AS Integer),
+        CAST((CASE WHEN :home = TRUE THEN COALESCE(s.homeGoalsAgainst, 0) ELSE 0 END)
+           + (CASE WHEN :away = TRUE THEN COALESCE(s.awayGoalsAgainst, 0) ELSE 0 END) AS Integer))
+    FROM Club c
+    LEFT JOIN ClubStats s ON s.clubId = c.id
+    WHERE c.id IN :clubIds
+    """)
+    List<ClubRetrospectDTO> findRetrospectives(@Param("clubIds") Collection<Long> clubIds, @Param("home") boolean home, @Param("away") boolean away);
+
+    // Ranking com os dois lados somados: pontos, gols pró, vitórias e partidas.
+    // Filtro de zero, ORDER BY e LIMIT no banco; desempate por clubId para paginação estável
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubRankingDTO(
+        c.id, c.name,
+        3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws,
+        s.homeGoalsFor + s.awayGoalsFor,
+        s.homeVictories + s.awayVictories,
+        s.homeMatches + s.awayMatches)
+    FROM ClubStats s
+    JOIN Club c ON c.id = s.clubId
+    WHERE 3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws > 0
+    ORDER BY 3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws DESC, s.clubId ASC
+    """)
+    List<ClubRankingDTO> findRankingByPoints(Pageable pageable);
+
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubRankingDTO(
+        c.id, c.name,
+        3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws,
+        s.homeGoalsFor + s.awayGoalsFor,
+        s.homeVictories + s.awayVictories,
+        s.homeMatches + s.awayMatches)
+    FROM ClubStats s
+    JOIN Club c ON c.id = s.clubId
+    WHERE s.homeGoalsFor + s.awayGoalsFor > 0
+    ORDER BY s.homeGoalsFor + s.awayGoalsFor DESC, s.clubId ASC
+    """)
+    List<ClubRankingDTO> findRankingByGoals(Pageable pageable);
+
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubRankingDTO(
+        c.id, c.name,
+        3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws,
+        s.homeGoalsFor + s.awayGoalsFor,
+        s.homeVictories + s.awayVictories,
+        s.homeMatches + s.awayMatches)
+    FROM ClubStats s
+    JOIN Club c ON c.id = s.clubId
+    WHERE s.homeVictories + s.awayVictories > 0
+    ORDER BY s.homeVictories + s.awayVictories DESC, s.clubId ASC
+    """)
+    List<ClubRankingDTO> findRankingByVictories(Pageable pageable);
+
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubRankingDTO(
+        c.id, c.name,
+        3 * (s.homeVictories + s.awayVictories) + s.homeDraws + s.awayDraws,
+        s.homeGoalsFor + s.awayGoalsFor,
+        s.homeVictories + s.awayVictories,
+        s.homeMatches + s.awayMatches)
+    FROM ClubStats s
+    JOIN Club c ON c.id = s.clubId
+    WHERE s.homeMatches + s.awayMatches > 0
+    ORDER BY s.homeMatches + s.awayMatches DESC, s.clubId ASC
+    """)
+    List<ClubRankingDTO> findRankingByMatches(Pageable pageable);
+
+    // Aplica o delta de uma ou mais partidas na linha do clube; a primeira partida cria a linha.
+    // No UPDATE os próprios parâmetros, não VALUES(coluna): obsoleto desde o MySQL 8.0.20, e o alias
+    // de linha (AS new) não passa no H2 dos testes
+    @Modifying
+    @Query(value = """
+    INSERT INTO club_stats (club_id,
+        home_matches, home_victories, home_draws, home_defeats, home_goals_for, home_goals_against,
+        away_matches, away_victories, away_draws, away_defeats, away_goals_for, away_goals_against)
+    VALUES (:clubId,
+        :homeMatches, :homeVictories, :homeDraws, :homeDefeats, :homeGoalsFor, :homeGoalsAgainst,
+        :awayMatches, :awayVictories, :awayDraws, :awayDefeats, :awayGoalsFor, :awayGoalsAgainst)
+    ON DUPLICATE KEY UPDATE
+        home_matches = home_matches + :homeMatches,
+        home_victories = home_victories + :homeVictories,
+        home_draws = home_draws + :homeDraws,
+        home_defeats = home_defeats + :homeDefeats,
+        home_goals_for = home_goals_for + :homeGoalsFor,
+        home_goals_against = home_goals_against + :homeGoalsAgainst,
+        away_matches = away_matches + :awayMatches,
+        away_victories = away_victories + :awayVictories,
+        away_draws = away_draws + :awayDraws,
+        away_defeats = away_defeats + :awayDefeats,
+        away_goals_for = away_goals_for + :awayGoalsFor,
+        away_goals_against = away_goals_against + :awayGoalsAgainst
+    """, nativeQuery = true)
+    int applyDelta(@Param("clubId") Long clubId,
+                   @Param("homeMatches") long homeMatches,
+                   @Param("homeVictories") long homeVictories,
+                   @Param("homeDraws") long homeDraws,
+                   @Param("homeDefeats") long homeDefeats,
+                   @Param("homeGoalsFor") long homeGoalsFor,
+                   @Param("homeGoalsAgainst") long homeGoalsAgainst,
+                   @Param("awayMatches") long awayMatches,
+                   @Param("awayVictories") long awayVictories,
+                   @Param("awayDraws") long awayDraws,
+                   @Param("awayDefeats") long awayDefeats,
+                   @Param("awayGoalsFor") long awayGoalsFor,
+                   @Param("awayGoalsAgainst") long awayGoalsAgainst);
+
+    // Linhas como lidas do banco, fora do contexto de persistência: o upsert nativo não atualiza
+    // entidades ClubStats já carregadas na mesma transação
+    @Query("""
+    SELECT new com.neocamp.api_futebol.entities.ClubStats(s.clubId,
+        s.homeMatches, s.homeVictories, s.homeDraws, s.homeDefeats, s.homeGoalsFor, s.homeGoalsAgainst,
+        s.awayMatches, s.awayVictories, s.awayDraws, s.awayDefeats, s.awayGoalsFor, s.awayGoalsAgainst)
+    FROM ClubStats s
+    """)
+    List<ClubStats> findAllCounters();
+
+    // Totais recalculados a partir de matches, um lado por consulta (cada uma no índice do seu clube)
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO(
+        m.homeClub.id, COUNT(m),
+        SUM(CASE WHEN m.homeGoals > m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.homeGoals = m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.homeGoals < m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CAST(m.homeGoals AS Long)), SUM(CAST(m.awayGoals AS Long)))
+    FROM Match m
+    GROUP BY m.homeClub.id
+    """)
+    List<ClubSideStatsDTO> computeHomeStatsFromMatches();
+
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO(
+        m.awayClub.id, COUNT(m),
+        SUM(CASE WHEN m.awayGoals > m.homeGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.awayGoals = m.homeGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.awayGoals < m.homeGoals THEN 1L ELSE 0L END),
+        SUM(CAST(m.awayGoals AS Long)), SUM(CAST(m.homeGoals AS Long)))
+    FROM Match m
+    GROUP BY m.awayClub.id
+    """)
+    List<ClubSideStatsDTO> computeAwayStatsFromMatches();
+
+    @Modifying
+    @Query(value = "DELETE FROM club_stats", nativeQuery = true)
+    void deleteAllStats();
+
+    // Recalcula a tabela inteira a partir de matches (backfill e correção de divergência)
+    @Modifying
+    @Query(value = """
+    INSERT INTO club_stats (club_id,
+        home_matches, home_victories, home_draws, home_defeats, home_goals_for, home_goals_against,
+        away_matches, away_victories, away_draws, away_defeats, away_goals_for, away_goals_against)
+    SELECT t.club_id,
+           SUM(t.home), SUM(t.home * t.victory), SUM(t.home * t.draw), SUM(t.home * t.defeat),
+           SUM(t.home * t.goals_for), SUM(t.home * t.goals_against),
+           SUM(1 - t.home), SUM((1 - t.home) * t.victory), SUM((1 - t.home) * t.draw), SUM((1 - t.home) * t.defeat),
+           SUM((1 - t.home) * t.goals_for), SUM((1 - t.home) * t.goals_against)
+    FROM (
+        SELECT m.home_club_id AS club_id, 1 AS home, m.home_goals AS goals_for, m.away_goals AS goals_against,
+               CASE WHEN m.home_goals > m.away_goals THEN 1 ELSE 0 END AS victory,
+               CASE WHEN m.home_goals = m.away_goals THEN 1 ELSE 0 END AS draw,
+               CASE WHEN m.home_goals < m.away_goals THEN 1 ELSE 0 END AS defeat
+        FROM matches m
+        UNION ALL
+        SELECT m.away_club_id AS club_id, 0 AS home, m.away_goals AS goals_for, m.home_goals AS goals_against,
+               CASE WHEN m.away_goals > m.home_goals THEN 1 ELSE 0 END AS victory,
+               CASE WHEN m.away_goals = m.home_goals THEN 1 ELSE 0 END AS draw,
+               CASE WHEN m.away_goals < m.home_goals THEN 1 ELSE 0 END AS defeat
+        FROM matches m
+    ) t
+    GROUP BY t.club_id
+    """, nativeQuery = true)
+    int rebuildFromMatches();
+}
@@ -0,0 +1,66 @@
+package com.neocamp.api_futebol.repositories;
+
+import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// INSERT de partidas em lotes JDBC, fora do Hibernate: com IDENTITY o Hibernate não agrupa inserts,
+// aqui o banco continua gerando o id e devolve as chaves do lote inteiro
+@Repository
+public class MatchBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO matches " +
+            "(home_club_id, away_club_id, stadium_id, match_date_time, home_goals, away_goals) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MatchBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Devolve os ids gerados na mesma ordem das partidas
+    public List<Long> insertAll(List<MatchesRequestDTO> matches) {
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (int from = 0; from < matches.size(); from += BATCH_SIZE) {
+            List<MatchesRequestDTO> chunk = matches.subList(from, Math.min(from + BATCH_SIZE, matches.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            MatchesRequestDTO match = chunk.get(i);
+                            ps.setLong(1, match.homeClubId());
+                            ps.setLong(2, match.awayClubId());
+                            ps.setLong(3, match.stadiumId());
+                            ps.setTimestamp(4, Timestamp.valueOf(match.matchDateTime()));
+                            ps.setInt(5, match.homeGoals());
+                            ps.setInt(6, match.awayGoals());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -1,86 +1,154 @@
 package com.neocamp.api_futebol.repositories;
 
-import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
 import com.neocamp.api_futebol.dtos.response.OppRetrospectDTO;
 import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.entities.State;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MatchRepository extends JpaRepository<Match, Long> {
-    // Checa partida no estádio nesta data
-    @Query(
-            value = "SELECT * FROM matches m " +
-                    "WHERE m.stadium_id = :stadiumId " +
-                    "AND DATE(m.match_date_time) = DATE(:dateTime)",
-            nativeQuery = true
-    )
-    List<Match> findByStadiumAndDay(
-            @Param("stadiumId") Long stadiumId,
-            @Param("dateTime") LocalDateTime dateTime
-    );
+    @Override
+    @EntityGraph(attributePaths = {"homeClub", "awayClub", "stadium"})
+    Optional<Match> findById(Long id);
+
+    // Janela (exclusiva) da regra de partidas próximas de um clube
+    int NEAR_MATCH_HOURS = 48;
 
+    // Bits de findScheduleConflicts: cada regra de agenda violada liga um bit
+    int CONFLICT_NEAR_MATCH = 1;
+    int CONFLICT_STADIUM_DAY = 2;
+
+    // Id que nenhuma partida tem (identity começa em 1): na criação não há partida a ignorar
+    long NO_MATCH_ID = 0L;
+
+    default int findScheduleConflicts(Long homeClubId, Long awayClubId, Long stadiumId, LocalDateTime dateTime) {
+        return findScheduleConflicts(homeClubId, awayClubId, stadiumId, dateTime, NO_MATCH_ID);
+    }
+
+    default int findScheduleConflicts(Long homeClubId, Long awayClubId, Long stadiumId,
+                                      LocalDateTime dateTime, Long matchId) {
+        LocalDateTime dayStart = dateTime.toLocalDate().atStartOfDay();
+        return findScheduleConflictMask(homeClubId, awayClubId, stadiumId,
+                dateTime.minusHours(NEAR_MATCH_HOURS), dateTime.plusHours(NEAR_MATCH_HOURS),
+                dayStart, dayStart.plusDays(1), matchId);
+    }
+
+    // Todas as regras de agenda numa ida ao banco: EXISTS para parar na primeira partida
+    // encontrada, cada ramo no seu índice (clube/estádio, match_date_time)
     @Query(
-            value = "SELECT * FROM matches m " +
+            value = "SELECT " +
+                    "CASE WHEN EXISTS (SELECT 1 FROM matches m " +
+                    "WHERE m.home_club_id IN (:homeClubId, :awayClubId) " +
+                    "AND m.match_date_time > :nearStart AND m.match_date_time < :nearEnd " +
+                    "AND m.id <> :matchId) " +
+                    "OR EXISTS (SELECT 1 FROM matches m " +
+                    "WHERE m.away_club_id IN (:homeClubId, :awayClubId) " +
+                    "AND m.match_date_time > :nearStart AND m.match_date_time < :nearEnd " +
+                    "AND m.id <> :matchId) " +
+                    "THEN 1 ELSE 0 END + " +
+                    "CASE WHEN EXISTS (SELECT 1 FROM matches m " +
                     "WHERE m.stadium_id = :stadiumId " +
-                    "AND DATE(m.match_date_time) = DATE(:dateTime) " +
-                    "AND m.id <> :matchId",
+                    "AND m.match_date_time >= :dayStart AND m.match_date_time < :dayEnd " +
+                    "AND m.id <> :matchId) " +
+                    "THEN 2 ELSE 0 END",
             nativeQuery = true
     )
-    List<Match> findByStadiumAndDayIgnoringMatch(
+    int findScheduleConflictMask(
+            @Param("homeClubId") Long homeClubId,
+            @Param("awayClubId") Long awayClubId,
             @Param("stadiumId") Long stadiumId,
-            @Param("dateTime") LocalDateTime dateTime,
+            @Param("nearStart") LocalDateTime nearStart,
+            @Param("nearEnd") LocalDateTime nearEnd,
+            @Param("dayStart") LocalDateTime dayStart,
+            @Param("dayEnd") LocalDateTime dayEnd,
             @Param("matchId") Long matchId
     );
 
-    // Checa partidas próximas de um clube (+/- 48 horas)
-    @Query(
-            value = "SELECT * FROM matches m " +
-                    "WHERE (m.home_club_id = :clubId OR m.away_club_id = :clubId) " +
-                    "AND ABS(TIMESTAMPDIFF(HOUR, m.match_date_time, :dateTime)) < 48",
-            nativeQuery = true
-    )
-    List<Match> findMatchesNearDateForClub(
+    // Fetch join dos clubes e do estádio para não disparar N+1 ao montar o DTO; contagem sem os joins
+    @Query(value = """
+        SELECT m FROM Match m
+        JOIN FETCH m.homeClub
+        JOIN FETCH m.awayClub
+        JOIN FETCH m.stadium
+        WHERE (:clubId IS NULL OR m.homeClub.id = :clubId OR m.awayClub.id = :clubId)
+          AND (:stadiumId IS NULL OR m.stadium.id = :stadiumId)
+            AND (:routs IS NULL OR :routs = TRUE AND ABS(m.homeGoals - m.awayGoals) >= 3)
+                AND (:side IS NULL OR (:side = 'casa' AND m.homeClub.id = :clubId) OR (:side = 'fora' AND m.awayClub.id = :clubId))
+    """,
+            countQuery = """
+        SELECT COUNT(m) FROM Match m
+        WHERE (:clubId IS NULL OR m.homeClub.id = :clubId OR m.awayClub.id = :clubId)
+          AND (:stadiumId IS NULL OR m.stadium.id = :stadiumId)
+            AND (:routs IS NULL OR :routs = TRUE AND ABS(m.homeGoals - m.awayGoals) >= 3)
+                AND (:side IS NULL OR (:side = 'casa' AND m.homeClub.id = :clubId) OR (:side = 'fora' AND m.awayClub.id = :clubId))
+    """)
+    Page<Match> findWithFilters(
             @Param("clubId") Long clubId,
-            @Param("dateTime") LocalDateTime dateTime
+            @Param("stadiumId") Long stadiumId,
+            @Param("routs") Boolean routs,
+            @Param("side") String side,
+            Pageable pageable
     );
 
-    @Query(
-            value = "SELECT * FROM matches m " +
-                    "WHERE m.id <> :matchId " +
-                    "AND (m.home_club_id = :clubId OR m.away_club_id = :clubId) " +
-                    "AND ABS(TIMESTAMPDIFF(HOUR, m.match_date_time, :dateTime)) < 48",
-            nativeQuery = true
-    )
-    List<Match> findMatchesNearDateForClubIgnoringMatch(
-            @Param("clubId") Long clubId,
-            @Param("dateTime") LocalDateTime dateTime,
-            @Param("matchId") Long matchId
-    );
+    // Paginação por chave (matchDateTime, id): primeira página
     @Query("""
         SELECT m FROM Match m
+        JOIN FETCH m.homeClub
+        JOIN FETCH m.awayClub
+        JOIN FETCH m.stadium
         WHERE (:clubId IS NULL OR m.homeClub.id = :clubId OR m.awayClub.id = :clubId)
           AND (:stadiumId IS NULL OR m.stadium.id = :stadiumId)
             AND (:routs IS NULL OR :routs = TRUE AND ABS(m.homeGoals - m.awayGoals) >= 3)
                 AND (:side IS NULL OR (:side = 'casa' AND m.homeClub.id = :clubId) OR (:side = 'fora' AND m.awayClub.id = :clubId))
+        ORDER BY m.matchDateTime ASC, m.id ASC
     """)
-    Page<Match> findWithFilters(
+    List<Match> findFirstWithFilters(
             @Param("clubId") Long clubId,
             @Param("stadiumId") Long stadiumId,
             @Param("routs") Boolean routs,
             @Param("side") String side,
-            Pageable pageable
+            Limit limit
     );
 
+    // Paginação por chave: partidas depois do cursor, sem OFFSET nem COUNT
     @Query("""
-    SELECT m FROM Match m
-        WHERE m.homeClub.id = :id OR m.awayClub.id = :id
+        SELECT m FROM Match m
+        JOIN FETCH m.homeClub
+        JOIN FETCH m.awayClub
+        JOIN FETCH m.stadium
+        WHERE m.matchDateTime >= :afterDateTime
+          AND (m.matchDateTime > :afterDateTime OR m.id > :afterId)
+          AND (:clubId IS NULL OR m.homeClub.id = :clubId OR m.awayClub.id = :clubId)
+          AND (:stadiumId IS NULL OR m.stadium.id = :stadiumId)
+            AND (:routs IS NULL OR :routs = TRUE AND ABS(m.homeGoals - m.awayGoals) >= 3)
+                AND (:side IS NULL OR (:side = 'casa' AND m.homeClub.id = :clubId) OR (:side = 'fora' AND m.awayClub.id = :clubId))
+        ORDER BY m.matchDateTime ASC, m.id ASC
     """)
-    List<Match> findAllMatchesForClub(Long id);
+    List<Match> findWithFiltersAfter(
+            @Param("clubId") Long clubId,
+            @Param("stadiumId") Long stadiumId,
+            @Param("routs") Boolean routs,
+            @Param("side") String side,
+            @Param("afterDateTime") LocalDateTime afterDateTime,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
 
     @Query("""
             SELECT
@@ -108,58 +176,71 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
     """)
     List<OppRetrospectDTO> findOppsStats(@Param("clubId") Long id, @Param("side") String side);
 
+    // Confronto direto agregado pelo mandante, sem hidratar Match: no máximo uma linha por clube do par
     @Query("""
-    SELECT m FROM Match m
-        WHERE (
-            (m.homeClub.id = :id AND m.awayClub.id = :oppId)
-            OR (m.awayClub.id = :id AND m.homeClub.id = :oppId)
-                )
-                AND (:side IS NULL OR (:side = 'casa' AND m.homeClub.id = :id) OR (:side = 'fora' AND m.awayClub.id = :id))
+    SELECT new com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO(
+        m.homeClub.id, COUNT(m),
+        SUM(CASE WHEN m.homeGoals > m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.homeGoals = m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CASE WHEN m.homeGoals < m.awayGoals THEN 1L ELSE 0L END),
+        SUM(CAST(m.homeGoals AS Long)), SUM(CAST(m.awayGoals AS Long)))
+    FROM Match m
+    WHERE (m.homeClub.id = :clubId AND m.awayClub.id = :oppId)
+       OR (m.homeClub.id = :oppId AND m.awayClub.id = :clubId)
+    GROUP BY m.homeClub.id
     """)
-    List<Match> findAllMatchesBetweenClubs(Long id, Long oppId, String side);
+    List<ClubSideStatsDTO> findHeadToHeadByHomeClub(@Param("clubId") Long clubId, @Param("oppId") Long oppId);
 
 
+    // Só ids e placar, sem hidratar Match/Club
     @Query("""
-    SELECT new com.neocamp.api_futebol.dtos.response.ClubRankingDTO(
-        c.id,
-        c.name,
-        SUM(
-            CASE 
-                WHEN (m.homeClub.id = c.id AND m.homeGoals > m.awayGoals) OR
-                     (m.awayClub.id = c.id AND m.awayGoals > m.homeGoals)
-                  THEN 3
-                WHEN m.homeGoals = m.awayGoals AND (m.homeClub.id = c.id OR m.awayClub.id = c.id)
-                  THEN 1
-                ELSE 0
-            END
-        ),
-        SUM(CASE WHEN m.homeClub.id = c.id THEN m.homeGoals ELSE m.awayGoals END),
-        SUM(
-            CASE 
-                WHEN (m.homeClub.id = c.id AND m.homeGoals > m.awayGoals) OR
-                     (m.awayClub.id = c.id AND m.awayGoals > m.homeGoals)
-                  THEN 1 ELSE 0 
-            END
-        ),
-        COUNT(m)
-    )
-    FROM Club c
-    LEFT JOIN Match m ON m.homeClub.id = c.id OR m.awayClub.id = c.id
-    GROUP BY c.id, c.name
-""")
-    List<ClubRankingDTO> findClubRanking();
+    SELECT new com.neocamp.api_futebol.dtos.response.MatchScoreDTO(
+        m.homeClub.id, m.awayClub.id, m.homeGoals, m.awayGoals)
+    FROM Match m
+    """)
+    List<MatchScoreDTO> findAllScores();
+
+    // Placares em stream (precisa de transação aberta); com estado, só partidas entre clubes dele
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+    SELECT new com.neocamp.api_futebol.dtos.response.MatchScoreDTO(
+        h.id, a.id, m.homeGoals, m.awayGoals)
+    FROM Match m
+    JOIN m.homeClub h
+    JOIN m.awayClub a
+    WHERE :state IS NULL OR (h.state = :state AND a.state = :state)
+    """)
+    Stream<MatchScoreDTO> streamScores(@Param("state") State state);
 
+    // Agenda de todas as partidas em stream (precisa de transação aberta), para carregar o índice em memória
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
-    SELECT m FROM Match m
-        WHERE m.homeClub.id = :id
+    SELECT new com.neocamp.api_futebol.dtos.response.MatchScheduleDTO(
+        m.id, m.homeClub.id, m.awayClub.id, m.stadium.id, m.matchDateTime)
+    FROM Match m
     """)
-    List<Match> findAllHomeMatchesForClub(Long id);
+    Stream<MatchScheduleDTO> streamAllSchedules();
 
+    // Agenda que pode conflitar com um lote: partidas no intervalo envolvendo os clubes ou estádios dele
     @Query("""
-    SELECT m FROM Match m
-        WHERE m.awayClub.id = :id
+    SELECT new com.neocamp.api_futebol.dtos.response.MatchScheduleDTO(
+        m.id, m.homeClub.id, m.awayClub.id, m.stadium.id, m.matchDateTime)
+    FROM Match m
+    WHERE m.matchDateTime > :start AND m.matchDateTime < :end
+      AND (m.homeClub.id IN :clubIds OR m.awayClub.id IN :clubIds OR m.stadium.id IN :stadiumIds)
     """)
-    List<Match> findAllAwayMatchesForClub(Long id);
+    List<MatchScheduleDTO> findSchedulesBetween(
+            @Param("clubIds") Collection<Long> clubIds,
+            @Param("stadiumIds") Collection<Long> stadiumIds,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
 
     @Query("""
     SELECT COUNT(m) > 0 FROM Match m 
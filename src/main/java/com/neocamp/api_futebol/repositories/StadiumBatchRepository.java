@@ -0,0 +1,68 @@
+package com.neocamp.api_futebol.repositories;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.Stadium;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// INSERT de estádios em lotes JDBC, no mesmo esquema do MatchBatchRepository
+@Repository
+public class StadiumBatchRepository {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO stadiums " +
+            "(name, active, cep, logradouro, bairro, localidade, uf, address_status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StadiumBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Devolve os ids gerados na mesma ordem dos estádios
+    public List<Long> insertAll(List<Stadium> stadiums) {
+        List<Long> ids = new ArrayList<>(stadiums.size());
+        for (int from = 0; from < stadiums.size(); from += BATCH_SIZE) {
+            List<Stadium> chunk = stadiums.subList(from, Math.min(from + BATCH_SIZE, stadiums.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Stadium stadium = chunk.get(i);
+                            Address address = stadium.getAddress();
+                            ps.setString(1, stadium.getName());
+                            ps.setBoolean(2, stadium.getActive());
+                            ps.setString(3, address.getCep());
+                            ps.setString(4, address.getLogradouro());
+                            ps.setString(5, address.getBairro());
+                            ps.setString(6, address.getLocalidade());
+                            ps.setString(7, address.getUf());
+                            ps.setString(8, stadium.getAddressStatus().name());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -1,9 +1,13 @@
 package com.neocamp.api_futebol.repositories;
+import com.neocamp.api_futebol.entities.AddressStatus;
 import com.neocamp.api_futebol.entities.Stadium;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,4 +17,10 @@ public interface StadiumRepository extends JpaRepository<Stadium, Long> {
     Optional<Stadium> findByIdAndActiveTrue(Long id);
 
     List<Stadium> findByAddressCep(String cep);
+
+    List<Stadium> findByAddressStatus(AddressStatus addressStatus);
+
+    // Nomes já cadastrados entre os informados (em minúsculas), numa consulta só
+    @Query("SELECT LOWER(s.name) FROM Stadium s WHERE LOWER(s.name) IN :names")
+    List<String> findExistingNamesIgnoreCase(@Param("names") Collection<String> names);
 }
@@ -0,0 +1,97 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.exception.NotFoundException;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Cache LRU limitado, com TTL, das consultas de CEP. Guarda também o "não encontrado"
+// (cache negativo, com TTL próprio) para CEP inexistente não voltar ao ViaCEP a cada pedido.
+public final class CepCache {
+
+    public record Stats(long hits, long misses, long evictions, long expirations, int size) {}
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    public CepCache(int maxSize, Duration ttl, Duration negativeTtl) {
+        this(maxSize, ttl, negativeTtl, System::nanoTime);
+    }
+
+    CepCache(int maxSize, Duration ttl, Duration negativeTtl, LongSupplier nanoTime) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.nanoTime = nanoTime;
+        // accessOrder = true: o mais antigo na iteração é o menos usado recentemente
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    // null quando não está em cache (ou expirou); CEP em cache negativo lança o mesmo NotFoundException
+    public synchronized Address get(String cep) {
+        Entry entry = entries.get(cep);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (nanoTime.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(cep);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (entry.address() == null) {
+            throw new NotFoundException("CEP não encontrado");
+        }
+        // cópia: o Address vira parte de uma entidade e não pode ser compartilhado entre estádios
+        return new Address(entry.address());
+    }
+
+    public void put(String cep, Address address) {
+        store(cep, new Address(address), ttlNanos);
+    }
+
+    public void putNotFound(String cep) {
+        store(cep, null, negativeTtlNanos);
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), entries.size());
+    }
+
+    private synchronized void store(String cep, Address address, long ttl) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(cep, new Entry(address, nanoTime.getAsLong() + ttl));
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private record Entry(Address address, long expiresAt) {}
+}
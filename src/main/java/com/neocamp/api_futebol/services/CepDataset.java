@@ -0,0 +1,227 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Base local de CEPs num arquivo binário mapeado em memória, consultado por busca binária.
+//
+// Formato (big-endian):
+//   cabeçalho  : magic "CEPD" | versão | quantidade de registros | início do bloco de textos
+//   registros  : ordenados por CEP, 18 bytes cada:
+//                cep (int) | logradouro | bairro | localidade (offsets int no bloco de textos) | uf (2 bytes ASCII)
+//   textos     : sem repetição, cada um como tamanho (u16) + bytes UTF-8
+// O arquivo fica fora do heap: o custo em memória é só o page cache do SO.
+public final class CepDataset {
+
+    static final int MAGIC = 0x43455044;
+
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int RECORD_SIZE = 18;
+
+    private final ByteBuffer buffer;
+
+    private final int count;
+
+    private final int stringsStart;
+
+    private CepDataset(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Arquivo não é uma base de CEPs válida");
+        }
+        this.buffer = buffer;
+        this.count = buffer.getInt(8);
+        this.stringsStart = buffer.getInt(12);
+    }
+
+    public static CepDataset open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CepDataset(buffer);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // null quando o CEP não está na base; só leituras absolutas, seguro entre threads
+    public Address find(String cep) {
+        int key = parseCep(cep);
+        if (key < 0) {
+            return null;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midCep = buffer.getInt(HEADER_SIZE + mid * RECORD_SIZE);
+            if (midCep < key) {
+                low = mid + 1;
+            } else if (midCep > key) {
+                high = mid - 1;
+            } else {
+                return readAddress(HEADER_SIZE + mid * RECORD_SIZE);
+            }
+        }
+        return null;
+    }
+
+    private Address readAddress(int record) {
+        Address address = new Address();
+        address.setCep(formatCep(buffer.getInt(record)));
+        address.setLogradouro(readString(buffer.getInt(record + 4)));
+        address.setBairro(readString(buffer.getInt(record + 8)));
+        address.setLocalidade(readString(buffer.getInt(record + 12)));
+        byte[] uf = new byte[2];
+        buffer.get(record + 16, uf);
+        address.setUf(new String(uf, StandardCharsets.US_ASCII));
+        return address;
+    }
+
+    private String readString(int offset) {
+        int position = stringsStart + offset;
+        int length = Short.toUnsignedInt(buffer.getShort(position));
+        byte[] bytes = new byte[length];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Converte um CSV "cep,logradouro,bairro,localidade,uf" (com cabeçalho; separador ',' ou ';')
+    // no formato binário. Linhas inválidas são ignoradas; CEP repetido fica com a última linha.
+    public static ConversionResult convert(BufferedReader csv, OutputStream out) throws IOException {
+        String header = csv.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV vazio");
+        }
+        char separator = header.indexOf(';') >= 0 ? ';' : ',';
+
+        TreeMap<Integer, String[]> rows = new TreeMap<>();
+        int skipped = 0;
+        String line;
+        while ((line = csv.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> fields = splitCsv(line, separator);
+            int cep = fields.size() == 5 ? parseCep(fields.get(0)) : -1;
+            if (cep < 0 || fields.get(4).trim().length() != 2) {
+                skipped++;
+                continue;
+            }
+            rows.put(cep, new String[]{fields.get(1).trim(), fields.get(2).trim(), fields.get(3).trim(),
+                    fields.get(4).trim().toUpperCase()});
+        }
+
+        Map<String, Integer> offsets = new HashMap<>();
+        ByteArrayBuilder strings = new ByteArrayBuilder();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(rows.size());
+        data.writeInt(HEADER_SIZE + rows.size() * RECORD_SIZE);
+        for (Map.Entry<Integer, String[]> row : rows.entrySet()) {
+            String[] fields = row.getValue();
+            data.writeInt(row.getKey());
+            data.writeInt(strings.intern(fields[0], offsets));
+            data.writeInt(strings.intern(fields[1], offsets));
+            data.writeInt(strings.intern(fields[2], offsets));
+            data.write(fields[3].getBytes(StandardCharsets.US_ASCII), 0, 2);
+        }
+        strings.writeTo(data);
+        data.flush();
+        return new ConversionResult(rows.size(), skipped);
+    }
+
+    public record ConversionResult(int ceps, int skippedLines) {}
+
+    // CEP com ou sem hífen -> número de 8 dígitos; -1 se inválido
+    static int parseCep(String cep) {
+        String digits = cep.trim().replace("-", "");
+        if (digits.length() != 8) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < 8; i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static String formatCep(int cep) {
+        String digits = String.format("%08d", cep);
+        return digits.substring(0, 5) + "-" + digits.substring(5);
+    }
+
+    // Campos entre aspas podem conter o separador; "" dentro de aspas vira "
+    private static List<String> splitCsv(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class ByteArrayBuilder {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int intern(String value, Map<String, Integer> offsets) {
+            return offsets.computeIfAbsent(value, text -> {
+                byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+                int length = Math.min(utf8.length, 0xFFFF);
+                int offset = bytes.size();
+                bytes.write(length >>> 8);
+                bytes.write(length & 0xFF);
+                bytes.write(utf8, 0, length);
+                return offset;
+            });
+        }
+
+        void writeTo(OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+}
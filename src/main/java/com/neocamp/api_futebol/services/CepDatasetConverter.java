@@ -0,0 +1,41 @@
+package com.neocamp.api_futebol.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// Linha de comando que gera a base binária de CEPs a partir de um CSV:
+//   java -cp target/classes com.neocamp.api_futebol.services.CepDatasetConverter ceps.csv ceps.bin
+// ou, a partir do jar empacotado:
+//   java -cp api.jar -Dloader.main=com.neocamp.api_futebol.services.CepDatasetConverter \
+//        org.springframework.boot.loader.launch.PropertiesLauncher ceps.csv ceps.bin
+public final class CepDatasetConverter {
+
+    private CepDatasetConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepDatasetConverter <entrada.csv> <saida.bin>");
+            System.exit(1);
+        }
+        Path csv = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        // grava num temporário e troca no fim: a aplicação nunca mapeia um arquivo pela metade
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+
+        CepDataset.ConversionResult result;
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             OutputStream out = Files.newOutputStream(temporary)) {
+            result = CepDataset.convert(reader, out);
+        }
+        Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+
+        System.out.println(result.ceps() + " CEPs gravados em " + output + ", " + result.skippedLines() + " linhas ignoradas");
+    }
+}
@@ -0,0 +1,46 @@
+package com.neocamp.api_futebol.services;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// id do clube -> posição densa (0..n-1) para acumular em arrays primitivos.
+// Ids até um fator do número de clubes usam tabela direta; acima disso, HashMap.
+final class ClubIndex {
+
+    private static final int DIRECT_LOOKUP_FACTOR = 8;
+
+    private final int[] directIndex;
+    private final Map<Long, Integer> sparseIndex;
+
+    ClubIndex(long[] clubIds) {
+        long maxId = 0;
+        for (long id : clubIds) {
+            maxId = Math.max(maxId, id);
+        }
+
+        if (maxId < (long) clubIds.length * DIRECT_LOOKUP_FACTOR + 1024) {
+            this.directIndex = new int[(int) maxId + 1];
+            Arrays.fill(directIndex, -1);
+            for (int i = 0; i < clubIds.length; i++) {
+                directIndex[(int) clubIds[i]] = i;
+            }
+            this.sparseIndex = null;
+        } else {
+            this.directIndex = null;
+            this.sparseIndex = new HashMap<>(clubIds.length * 2);
+            for (int i = 0; i < clubIds.length; i++) {
+                sparseIndex.put(clubIds[i], i);
+            }
+        }
+    }
+
+    // -1 quando o clube não está no índice
+    int indexOf(long clubId) {
+        if (directIndex != null) {
+            return clubId >= 0 && clubId < directIndex.length ? directIndex[(int) clubId] : -1;
+        }
+        Integer index = sparseIndex.get(clubId);
+        return index != null ? index : -1;
+    }
+}
@@ -0,0 +1,107 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.exception.BadRequestException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Ranking em memória: uma passada pelas partidas acumulando em arrays primitivos
+// indexados pela posição do clube na lista; ordenação sobre chaves long, sem boxing.
+public final class ClubRankingEngine {
+
+    private final long[] clubIds;
+    private final String[] clubNames;
+    private final int[] points;
+    private final int[] goals;
+    private final int[] victories;
+    private final int[] matches;
+
+    private final ClubIndex index;
+
+    public ClubRankingEngine(List<Club> clubs) {
+        int size = clubs.size();
+        this.clubIds = new long[size];
+        this.clubNames = new String[size];
+        this.points = new int[size];
+        this.goals = new int[size];
+        this.victories = new int[size];
+        this.matches = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            Club club = clubs.get(i);
+            clubIds[i] = club.getId();
+            clubNames[i] = club.getName();
+        }
+        this.index = new ClubIndex(clubIds);
+    }
+
+    public void accept(MatchScoreDTO match) {
+        accept(match.homeClubId(), match.awayClubId(), match.homeGoals(), match.awayGoals());
+    }
+
+    public void accept(long homeClubId, long awayClubId, int homeGoals, int awayGoals) {
+        int home = index.indexOf(homeClubId);
+        int away = index.indexOf(awayClubId);
+
+        if (home >= 0) {
+            matches[home]++;
+            goals[home] += homeGoals;
+        }
+        if (away >= 0) {
+            matches[away]++;
+            goals[away] += awayGoals;
+        }
+
+        if (homeGoals > awayGoals) {
+            if (home >= 0) {
+                victories[home]++;
+                points[home] += 3;
+            }
+        } else if (awayGoals > homeGoals) {
+            if (away >= 0) {
+                victories[away]++;
+                points[away] += 3;
+            }
+        } else {
+            if (home >= 0) points[home]++;
+            if (away >= 0) points[away]++;
+        }
+    }
+
+    public List<ClubRankingDTO> rank(String filter) {
+        int[] metric = metricFor(filter);
+
+        // chave = (MAX - valor) nos 32 bits altos, índice nos baixos:
+        // ordem crescente da chave = valor decrescente, empate pela ordem dos clubes
+        long[] keys = new long[metric.length];
+        int count = 0;
+        for (int i = 0; i < metric.length; i++) {
+            if (metric[i] > 0) {
+                keys[count++] = ((long) (Integer.MAX_VALUE - metric[i]) << 32) | i;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+
+        List<ClubRankingDTO> ranking = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int i = (int) keys[k];
+            ranking.add(new ClubRankingDTO(clubIds[i], clubNames[i],
+                    (long) points[i], (long) goals[i], (long) victories[i], (long) matches[i]));
+        }
+        return ranking;
+    }
+
+    private int[] metricFor(String filter) {
+        return switch (filter) {
+            case "pontos" -> points;
+            case "gols" -> goals;
+            case "vitorias" -> victories;
+            case "partidas" -> matches;
+            default -> throw new BadRequestException("Filtro inválido!");
+        };
+    }
+}
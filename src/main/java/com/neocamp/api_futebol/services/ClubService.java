@@ -10,6 +10,7 @@ import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.exception.NotFoundException;
 import com.neocamp.api_futebol.exception.BadRequestException;
 import com.neocamp.api_futebol.repositories.MatchRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -18,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
+@Timed(value = "api.service", histogram = true)
 public class ClubService {
     private final MatchRepository matchRepository;
 
@@ -0,0 +1,176 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.ClubStatsCheckDTO;
+import com.neocamp.api_futebol.dtos.response.ClubStatsDriftDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
+import com.neocamp.api_futebol.entities.ClubStats;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.repositories.ClubStatsRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+// Contadores de retrospecto por clube e lado (club_stats), na mesma transação das escritas de partidas.
+// O ranking também sai daqui, somando os dois lados: é o único read model derivado de matches
+@Service
+public class ClubStatsService {
+    static final int MAX_REPORTED_DRIFTS = 100;
+
+    // delta = {partidas, vitórias, empates, derrotas, gols pró, gols contra} em casa, depois o mesmo fora
+    private static final String[] FIELDS = {
+            "homeMatches", "homeVictories", "homeDraws", "homeDefeats", "homeGoalsFor", "homeGoalsAgainst",
+            "awayMatches", "awayVictories", "awayDraws", "awayDefeats", "awayGoalsFor", "awayGoalsAgainst"
+    };
+
+    private static final int HOME = 0;
+
+    private static final int AWAY = 6;
+
+    private final ClubStatsRepository clubStatsRepository;
+
+    public ClubStatsService(ClubStatsRepository clubStatsRepository) {
+        this.clubStatsRepository = clubStatsRepository;
+    }
+
+    public Optional<MatchesRetrospectDTO> findRetrospective(Long clubId, boolean home, boolean away) {
+        return clubStatsRepository.findRetrospective(clubId, home, away);
+    }
+
+    public List<ClubRetrospectDTO> findRetrospectives(Collection<Long> clubIds, boolean home, boolean away) {
+        return clubStatsRepository.findRetrospectives(clubIds, home, away);
+    }
+
+    public List<ClubRankingDTO> findRanking(String filter, Pageable pageable) {
+        // a ordenação é fixa por filtro; do Pageable só valem página e tamanho (sem paginação: tudo)
+        Pageable page = pageable.isPaged() ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()) : Pageable.unpaged();
+        return switch (filter.toLowerCase()) {
+            case "pontos" -> clubStatsRepository.findRankingByPoints(page);
+            case "gols" -> clubStatsRepository.findRankingByGoals(page);
+            case "vitorias" -> clubStatsRepository.findRankingByVictories(page);
+            case "partidas" -> clubStatsRepository.findRankingByMatches(page);
+            default -> throw new BadRequestException("Filtro inválido!");
+        };
+    }
+
+    // Soma a partida nos contadores dos dois clubes
+    public void registerMatch(Match match) {
+        applyMatch(match, 1);
+    }
+
+    // Remove a partida dos contadores dos dois clubes (usar com os valores antigos da partida)
+    public void unregisterMatch(Match match) {
+        applyMatch(match, -1);
+    }
+
+    // Lote de partidas novas: um upsert por clube, não por partida
+    public void registerScores(Collection<MatchScoreDTO> scores) {
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (MatchScoreDTO score : scores) {
+            addDelta(deltas.computeIfAbsent(score.homeClubId(), id -> new long[12]), HOME, score.homeGoals(), score.awayGoals(), 1);
+            addDelta(deltas.computeIfAbsent(score.awayClubId(), id -> new long[12]), AWAY, score.awayGoals(), score.homeGoals(), 1);
+        }
+        deltas.forEach(this::applyDelta);
+    }
+
+    @Transactional
+    public int rebuild() {
+        clubStatsRepository.deleteAllStats();
+        return clubStatsRepository.rebuildFromMatches();
+    }
+
+    // Recalcula os contadores a partir de matches e compara com club_stats, campo a campo.
+    // Clube sem linha conta como zeros dos dois lados; só lê, a correção é o rebuild.
+    @Transactional(readOnly = true)
+    public ClubStatsCheckDTO check() {
+        Map<Long, long[]> expected = new HashMap<>();
+        for (ClubSideStatsDTO row : clubStatsRepository.computeHomeStatsFromMatches()) {
+            copySide(expected.computeIfAbsent(row.clubId(), id -> new long[12]), HOME, row);
+        }
+        for (ClubSideStatsDTO row : clubStatsRepository.computeAwayStatsFromMatches()) {
+            copySide(expected.computeIfAbsent(row.clubId(), id -> new long[12]), AWAY, row);
+        }
+        Map<Long, long[]> actual = new HashMap<>();
+        for (ClubStats stats : clubStatsRepository.findAllCounters()) {
+            actual.put(stats.getClubId(), toArray(stats));
+        }
+
+        TreeSet<Long> clubIds = new TreeSet<>(expected.keySet());
+        clubIds.addAll(actual.keySet());
+        List<ClubStatsDriftDTO> drifts = new ArrayList<>();
+        int clubsWithDrift = 0;
+        for (Long clubId : clubIds) {
+            long[] want = expected.getOrDefault(clubId, new long[12]);
+            long[] got = actual.getOrDefault(clubId, new long[12]);
+            boolean drifted = false;
+            for (int i = 0; i < FIELDS.length; i++) {
+                if (want[i] != got[i]) {
+                    drifted = true;
+                    if (drifts.size() < MAX_REPORTED_DRIFTS) {
+                        drifts.add(new ClubStatsDriftDTO(clubId, FIELDS[i], want[i], got[i]));
+                    }
+                }
+            }
+            if (drifted) {
+                clubsWithDrift++;
+            }
+        }
+        return new ClubStatsCheckDTO(clubIds.size(), clubsWithDrift, drifts);
+    }
+
+    private void applyMatch(Match match, int sign) {
+        long[] home = new long[12];
+        addDelta(home, HOME, match.getHomeGoals(), match.getAwayGoals(), sign);
+        applyDelta(match.getHomeClub().getId(), home);
+
+        long[] away = new long[12];
+        addDelta(away, AWAY, match.getAwayGoals(), match.getHomeGoals(), sign);
+        applyDelta(match.getAwayClub().getId(), away);
+    }
+
+    private void addDelta(long[] delta, int side, int goalsFor, int goalsAgainst, int sign) {
+        delta[side] += sign;
+        delta[side + 1] += goalsFor > goalsAgainst ? sign : 0;
+        delta[side + 2] += goalsFor == goalsAgainst ? sign : 0;
+        delta[side + 3] += goalsFor < goalsAgainst ? sign : 0;
+        delta[side + 4] += (long) goalsFor * sign;
+        delta[side + 5] += (long) goalsAgainst * sign;
+    }
+
+    private void applyDelta(Long clubId, long[] delta) {
+        clubStatsRepository.applyDelta(clubId,
+                delta[0], delta[1], delta[2], delta[3], delta[4], delta[5],
+                delta[6], delta[7], delta[8], delta[9], delta[10], delta[11]);
+    }
+
+    private static void copySide(long[] values, int side, ClubSideStatsDTO row) {
+        values[side] = row.matches();
+        values[side + 1] = row.victories();
+        values[side + 2] = row.draws();
+        values[side + 3] = row.defeats();
+        values[side + 4] = row.goalsFor();
+        values[side + 5] = row.goalsAgainst();
+    }
+
+    private static long[] toArray(ClubStats stats) {
+        return new long[]{
+                stats.getHomeMatches(), stats.getHomeVictories(), stats.getHomeDraws(), stats.getHomeDefeats(),
+                stats.getHomeGoalsFor(), stats.getHomeGoalsAgainst(),
+                stats.getAwayMatches(), stats.getAwayVictories(), stats.getAwayDraws(), stats.getAwayDefeats(),
+                stats.getAwayGoalsFor(), stats.getAwayGoalsAgainst()
+        };
+    }
+}
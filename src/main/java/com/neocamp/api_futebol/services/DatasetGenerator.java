@@ -0,0 +1,190 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.AddressStatus;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.repositories.ClubBatchRepository;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.MatchBatchRepository;
+import com.neocamp.api_futebol.repositories.StadiumBatchRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Massa de dados sintética para carga e benchmark, gravada direto em lotes JDBC.
+//
+// As partidas respeitam as regras do MatchValidationsService por construção, sem consultar o banco:
+// o calendário é dividido em rodadas de 3 dias e, em cada rodada, os clubes são sorteados em pares
+// disjuntos (cada clube joga no máximo uma vez) e cada partida recebe um estádio diferente. O horário
+// cai no primeiro dia da rodada, então duas partidas do mesmo clube ficam a mais de 48h e nenhum
+// estádio recebe duas partidas no mesmo dia. A fundação dos clubes é sorteada antes da primeira rodada.
+//
+// Mesma semente e mesma data final geram exatamente os mesmos dados.
+@Service
+public class DatasetGenerator {
+
+    static final int ROUND_DAYS = 3;
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static final int MAX_FOUNDATION_DAYS = 100 * 365;
+
+    private final ClubRepository clubRepository;
+
+    private final ClubBatchRepository clubBatchRepository;
+
+    private final StadiumBatchRepository stadiumBatchRepository;
+
+    private final MatchBatchRepository matchBatchRepository;
+
+    private final ClubStatsService clubStatsService;
+
+    private final HeadToHeadCache headToHeadCache;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public DatasetGenerator(ClubRepository clubRepository, ClubBatchRepository clubBatchRepository,
+                            StadiumBatchRepository stadiumBatchRepository, MatchBatchRepository matchBatchRepository,
+                            ClubStatsService clubStatsService, HeadToHeadCache headToHeadCache,
+                            PlatformTransactionManager transactionManager) {
+        this.clubRepository = clubRepository;
+        this.clubBatchRepository = clubBatchRepository;
+        this.stadiumBatchRepository = stadiumBatchRepository;
+        this.matchBatchRepository = matchBatchRepository;
+        this.clubStatsService = clubStatsService;
+        this.headToHeadCache = headToHeadCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public record Spec(int clubs, int stadiums, int matches, long seed, LocalDate endDate) {}
+
+    public record Result(int clubs, int stadiums, int matches, LocalDate firstMatchDate, Duration elapsed) {}
+
+    // Acrescenta os dados aos que já existem; os nomes levam a semente para não colidir com outra geração.
+    // A agenda em memória (MatchScheduleIndex) não é atualizada aqui: o gerador roda antes do
+    // ApplicationReadyEvent, que a carrega do banco.
+    // Tudo numa transação só: uma geração interrompida não deixa clubes soltos que fariam a próxima
+    // execução com a mesma semente cair na checagem de semente repetida.
+    public Result generate(Spec spec) {
+        int perRound = Math.min(spec.clubs() / 2, spec.stadiums());
+        if (spec.clubs() < 0 || spec.stadiums() < 0 || spec.matches() < 0) {
+            throw new IllegalArgumentException("Quantidades não podem ser negativas");
+        }
+        if (spec.matches() > 0 && perRound == 0) {
+            throw new IllegalArgumentException("Partidas exigem ao menos 2 clubes e 1 estádio");
+        }
+        if (spec.clubs() > 0 && clubRepository.findByNameIgnoreCaseAndState(clubName(spec.seed(), 0), State.values()[0]).isPresent()) {
+            throw new IllegalStateException("A base já tem dados gerados com a semente " + spec.seed());
+        }
+
+        long started = System.nanoTime();
+        Result result = transactionTemplate.execute(status -> insert(spec, perRound, started));
+        if (result.matches() > 0) {
+            headToHeadCache.clear();
+        }
+        return result;
+    }
+
+    private Result insert(Spec spec, int perRound, long started) {
+        Random random = new Random(spec.seed());
+        int rounds = perRound == 0 ? 0 : (spec.matches() + perRound - 1) / perRound;
+        LocalDate firstRound = spec.endDate().minusDays((long) Math.max(rounds - 1, 0) * ROUND_DAYS);
+
+        List<Club> clubs = new ArrayList<>(spec.clubs());
+        for (int i = 0; i < spec.clubs(); i++) {
+            LocalDate createdAt = firstRound.minusDays(1 + random.nextInt(MAX_FOUNDATION_DAYS));
+            clubs.add(new Club(clubName(spec.seed(), i), State.values()[i % State.values().length], createdAt));
+        }
+        long[] clubIds = toArray(clubBatchRepository.insertAll(clubs));
+
+        List<Stadium> stadiums = new ArrayList<>(spec.stadiums());
+        for (int i = 0; i < spec.stadiums(); i++) {
+            stadiums.add(stadium(spec.seed(), i, random));
+        }
+        long[] stadiumIds = toArray(stadiumBatchRepository.insertAll(stadiums));
+
+        int[] clubOrder = identity(clubIds.length);
+        int[] stadiumOrder = identity(stadiumIds.length);
+        List<MatchesRequestDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        int generated = 0;
+        for (int round = 0; round < rounds; round++) {
+            LocalDateTime roundStart = firstRound.plusDays((long) round * ROUND_DAYS).atStartOfDay();
+            shuffle(clubOrder, random);
+            shuffle(stadiumOrder, random);
+            for (int m = 0; m < perRound && generated < spec.matches(); m++, generated++) {
+                chunk.add(new MatchesRequestDTO(clubIds[clubOrder[2 * m]], clubIds[clubOrder[2 * m + 1]],
+                        stadiumIds[stadiumOrder[m]], roundStart.plusMinutes(random.nextInt(MINUTES_PER_DAY)),
+                        goals(random), goals(random)));
+                if (chunk.size() == CHUNK_SIZE) {
+                    matchBatchRepository.insertAll(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            matchBatchRepository.insertAll(chunk);
+        }
+        if (generated > 0) {
+            clubStatsService.rebuild();
+        }
+
+        return new Result(clubIds.length, stadiumIds.length, generated, rounds == 0 ? null : firstRound,
+                Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    static String clubName(long seed, int index) {
+        return "Clube " + seed + "-" + (index + 1);
+    }
+
+    private static Stadium stadium(long seed, int index, Random random) {
+        State state = State.values()[index % State.values().length];
+        Address address = new Address();
+        address.setCep("%05d-%03d".formatted(1000 + random.nextInt(99_000), random.nextInt(1000)));
+        address.setLogradouro("Rua " + (1 + random.nextInt(5000)));
+        address.setBairro("Bairro " + (1 + random.nextInt(200)));
+        address.setLocalidade("Cidade " + state.name() + "-" + (1 + random.nextInt(50)));
+        address.setUf(state.name());
+        Stadium stadium = new Stadium("Estádio " + seed + "-" + (index + 1));
+        stadium.setAddress(address);
+        stadium.setAddressStatus(AddressStatus.RESOLVED);
+        return stadium;
+    }
+
+    // 0 a 5 gols, com os valores do meio mais frequentes que os extremos
+    private static int goals(Random random) {
+        return random.nextInt(4) + random.nextInt(3);
+    }
+
+    private static long[] toArray(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static int[] identity(int size) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        return values;
+    }
+
+    private static void shuffle(int[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.ApiDePartidasDeFutebolApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Gera a massa sintética na subida quando o perfil "dataset" está ativo (a API sobe em seguida já com os dados):
+//   java -jar api.jar --spring.profiles.active=dataset --dataset.matches=2000000
+// ou só gera e sai, sem servidor web:
+//   java -cp api.jar -Dloader.main=com.neocamp.api_futebol.services.DatasetGeneratorRunner \
+//        org.springframework.boot.loader.launch.PropertiesLauncher --dataset.clubs=1000 --dataset.matches=1000000
+@Component
+@Profile("dataset")
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DatasetGeneratorRunner.class);
+
+    private final DatasetGenerator datasetGenerator;
+
+    private final DatasetGenerator.Spec spec;
+
+    public DatasetGeneratorRunner(DatasetGenerator datasetGenerator,
+                                  @Value("${dataset.clubs}") int clubs,
+                                  @Value("${dataset.stadiums}") int stadiums,
+                                  @Value("${dataset.matches}") int matches,
+                                  @Value("${dataset.seed}") long seed,
+                                  @Value("${dataset.end-date:}") String endDate) {
+        this.datasetGenerator = datasetGenerator;
+        this.spec = new DatasetGenerator.Spec(clubs, stadiums, matches, seed,
+                endDate.isBlank() ? LocalDate.now().minusDays(1) : LocalDate.parse(endDate));
+    }
+
+    public static void main(String[] args) {
+        System.exit(SpringApplication.exit(new SpringApplicationBuilder(ApiDePartidasDeFutebolApplication.class)
+                .profiles("dataset")
+                .web(WebApplicationType.NONE)
+                .run(args)));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DatasetGenerator.Result result = datasetGenerator.generate(spec);
+        LOG.info("{} clubes, {} estádios e {} partidas gerados em {} ms (semente {}, partidas de {} a {})",
+                result.clubs(), result.stadiums(), result.matches(), result.elapsed().toMillis(), spec.seed(),
+                result.firstMatchDate(), spec.endDate());
+    }
+}
@@ -0,0 +1,58 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+
+import java.util.List;
+
+// Confronto direto de um par de clubes guardado uma vez só, pelo menor id: lowHome são as partidas
+// com o clube de menor id em casa, highHome as com o de maior id em casa, cada uma do ponto de vista
+// do mandante. As visões de cada clube e lado saem disso trocando a perspectiva.
+public record HeadToHead(long lowClubId, Totals lowHome, Totals highHome) {
+
+    public record Totals(long matches, long victories, long draws, long defeats, long goalsFor, long goalsAgainst) {
+
+        static final Totals EMPTY = new Totals(0, 0, 0, 0, 0, 0);
+
+        // os mesmos jogos vistos pelo adversário
+        Totals swap() {
+            return new Totals(matches, defeats, draws, victories, goalsAgainst, goalsFor);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(matches + other.matches, victories + other.victories, draws + other.draws,
+                    defeats + other.defeats, goalsFor + other.goalsFor, goalsAgainst + other.goalsAgainst);
+        }
+    }
+
+    // Linhas agrupadas pelo mandante (no máximo duas: uma por clube do par)
+    static HeadToHead of(long clubId, long oppId, List<ClubSideStatsDTO> rowsByHomeClub) {
+        long low = Math.min(clubId, oppId);
+        Totals lowHome = Totals.EMPTY;
+        Totals highHome = Totals.EMPTY;
+        for (ClubSideStatsDTO row : rowsByHomeClub) {
+            Totals totals = new Totals(row.matches(), row.victories(), row.draws(), row.defeats(),
+                    row.goalsFor(), row.goalsAgainst());
+            if (row.clubId() == low) {
+                lowHome = totals;
+            } else {
+                highHome = totals;
+            }
+        }
+        return new HeadToHead(low, lowHome, highHome);
+    }
+
+    // Retrospecto de clubId contra o outro clube do par; home/away escolhem os lados somados
+    public Totals viewOf(long clubId, boolean home, boolean away) {
+        boolean low = clubId == lowClubId;
+        Totals asHome = low ? lowHome : highHome;
+        Totals asAway = (low ? highHome : lowHome).swap();
+        Totals view = Totals.EMPTY;
+        if (home) {
+            view = view.plus(asHome);
+        }
+        if (away) {
+            view = view.plus(asAway);
+        }
+        return view;
+    }
+}
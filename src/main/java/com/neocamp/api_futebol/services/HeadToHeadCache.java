@@ -0,0 +1,162 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Cache LRU limitado, com TTL, dos confrontos diretos, por par não ordenado (menor id, maior id): A x B e
+// B x A são a mesma entrada. A entrada do par sai quando uma partida entre os dois é gravada por esta
+// instância; escrita de outra instância ou por SQL direto só aparece quando o TTL vence.
+// As métricas entram no registry pelo MeterBinder, depois de o cache estar construído.
+@Component
+public class HeadToHeadCache implements MeterBinder {
+
+    public record Pair(long low, long high) {
+        public static Pair of(long clubId, long oppId) {
+            return new Pair(Math.min(clubId, oppId), Math.max(clubId, oppId));
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, long expirations, long invalidations, int size) {}
+
+    private final MatchRepository matchRepository;
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoTime;
+
+    // accessOrder = true: o mais antigo na iteração é o menos usado recentemente
+    private final LinkedHashMap<Pair, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // muda a cada invalidação: carga que começou antes dela não entra no cache
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder expirations = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public HeadToHeadCache(MatchRepository matchRepository,
+                           @Value("${head-to-head.cache.max-size}") int maxSize,
+                           @Value("${head-to-head.cache.ttl}") Duration ttl) {
+        this(matchRepository, maxSize, ttl, System::nanoTime);
+    }
+
+    HeadToHeadCache(MatchRepository matchRepository, int maxSize, Duration ttl, LongSupplier nanoTime) {
+        this.matchRepository = matchRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public HeadToHead get(long clubId, long oppId) {
+        Pair pair = Pair.of(clubId, oppId);
+        long loadGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(pair);
+            if (cached != null && nanoTime.getAsLong() - cached.expiresAt() < 0) {
+                hits.increment();
+                return cached.headToHead();
+            }
+            if (cached != null) {
+                entries.remove(pair);
+                expirations.increment();
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+        // consulta fora do lock: pares diferentes carregam em paralelo
+        HeadToHead loaded = HeadToHead.of(pair.low(), pair.high(),
+                matchRepository.findHeadToHeadByHomeClub(pair.low(), pair.high()));
+        store(pair, loaded, loadGeneration);
+        return loaded;
+    }
+
+    // Partida entre os dois clubes criada, alterada ou removida. Sai já (a própria transação passa a ler
+    // do banco) e de novo ao fim dela, com commit ou rollback: o que foi recarregado no meio pode ser o
+    // valor antigo ou um não confirmado.
+    public void invalidate(long clubId, long oppId) {
+        invalidateAll(List.of(Pair.of(clubId, oppId)));
+    }
+
+    public void invalidateAll(Collection<Pair> pairs) {
+        remove(pairs);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(pairs);
+                }
+            });
+        }
+    }
+
+    // Partidas gravadas por fora do MatchService (carga de massa)
+    public synchronized void clear() {
+        invalidations.add(entries.size());
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), invalidations.sum(), entries.size());
+    }
+
+    private synchronized void remove(Collection<Pair> pairs) {
+        for (Pair pair : pairs) {
+            if (entries.remove(pair) != null) {
+                invalidations.increment();
+            }
+        }
+        generation++;
+    }
+
+    private synchronized void store(Pair pair, HeadToHead headToHead, long loadGeneration) {
+        if (maxSize <= 0 || loadGeneration != generation) {
+            return;
+        }
+        entries.put(pair, new Entry(headToHead, nanoTime.getAsLong() + ttlNanos));
+        Iterator<Map.Entry<Pair, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("headtohead.cache.hits", this, c -> c.stats().hits()).register(meterRegistry);
+        FunctionCounter.builder("headtohead.cache.misses", this, c -> c.stats().misses()).register(meterRegistry);
+        FunctionCounter.builder("headtohead.cache.evictions", this, c -> c.stats().evictions()).register(meterRegistry);
+        FunctionCounter.builder("headtohead.cache.expirations", this, c -> c.stats().expirations()).register(meterRegistry);
+        FunctionCounter.builder("headtohead.cache.invalidations", this, c -> c.stats().invalidations()).register(meterRegistry);
+        Gauge.builder("headtohead.cache.size", this, c -> c.stats().size()).register(meterRegistry);
+    }
+
+    private record Entry(HeadToHead headToHead, long expiresAt) {}
+}
@@ -0,0 +1,141 @@
+package com.neocamp.api_futebol.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.entities.Club;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Confronto direto de todos os pares numa passada pelas partidas. Cada métrica é um int[n * n]
+// em ordem de linha: a célula i * n + j é o clube i contra o clube j (i, j = posição densa do clube).
+// Partida com clube fora da lista (outro estado) é ignorada.
+//
+// Formato binário (big-endian):
+//   cabeçalho : magic "H2HM" | versão | quantidade de clubes (n)
+//   clubes    : n × (id long | nome como tamanho u16 + bytes UTF-8)
+//   métricas  : vitórias, empates, derrotas, gols pró, gols contra; n × n ints cada
+public final class HeadToHeadMatrix {
+
+    static final int MAGIC = 0x4832484D;
+
+    static final int VERSION = 1;
+
+    private final int size;
+    private final long[] clubIds;
+    private final String[] clubNames;
+    private final ClubIndex index;
+
+    private final int[] victories;
+    private final int[] draws;
+    private final int[] defeats;
+    private final int[] goalsFor;
+    private final int[] goalsAgainst;
+
+    public HeadToHeadMatrix(List<Club> clubs) {
+        this.size = clubs.size();
+        this.clubIds = new long[size];
+        this.clubNames = new String[size];
+        for (int i = 0; i < size; i++) {
+            clubIds[i] = clubs.get(i).getId();
+            clubNames[i] = clubs.get(i).getName();
+        }
+        this.index = new ClubIndex(clubIds);
+
+        int cells = size * size;
+        this.victories = new int[cells];
+        this.draws = new int[cells];
+        this.defeats = new int[cells];
+        this.goalsFor = new int[cells];
+        this.goalsAgainst = new int[cells];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void accept(MatchScoreDTO match) {
+        accept(match.homeClubId(), match.awayClubId(), match.homeGoals(), match.awayGoals());
+    }
+
+    // Preenche as duas células do par: mandante x visitante e visitante x mandante
+    public void accept(long homeClubId, long awayClubId, int homeGoals, int awayGoals) {
+        int home = index.indexOf(homeClubId);
+        int away = index.indexOf(awayClubId);
+        if (home < 0 || away < 0) {
+            return;
+        }
+        int homeCell = home * size + away;
+        int awayCell = away * size + home;
+
+        goalsFor[homeCell] += homeGoals;
+        goalsAgainst[homeCell] += awayGoals;
+        goalsFor[awayCell] += awayGoals;
+        goalsAgainst[awayCell] += homeGoals;
+        if (homeGoals > awayGoals) {
+            victories[homeCell]++;
+            defeats[awayCell]++;
+        } else if (homeGoals < awayGoals) {
+            defeats[homeCell]++;
+            victories[awayCell]++;
+        } else {
+            draws[homeCell]++;
+            draws[awayCell]++;
+        }
+    }
+
+    // {"clubs":[{"id":..,"name":..}],"victories":[[..],..],...}: uma linha por clube, direto no stream
+    public void writeJson(JsonFactory jsonFactory, OutputStream out) throws IOException {
+        // o stream é da resposta: quem fecha é o container
+        try (JsonGenerator json = jsonFactory.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("clubs");
+            for (int i = 0; i < size; i++) {
+                json.writeStartObject();
+                json.writeNumberField("id", clubIds[i]);
+                json.writeStringField("name", clubNames[i]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            writeJsonMetric(json, "victories", victories);
+            writeJsonMetric(json, "draws", draws);
+            writeJsonMetric(json, "defeats", defeats);
+            writeJsonMetric(json, "goalsFor", goalsFor);
+            writeJsonMetric(json, "goalsAgainst", goalsAgainst);
+            json.writeEndObject();
+        }
+    }
+
+    public void writeBinary(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            byte[] name = clubNames[i].getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(name.length, 0xFFFF);
+            data.writeLong(clubIds[i]);
+            data.writeShort(length);
+            data.write(name, 0, length);
+        }
+        for (int[] metric : new int[][]{victories, draws, defeats, goalsFor, goalsAgainst}) {
+            for (int value : metric) {
+                data.writeInt(value);
+            }
+        }
+        data.flush();
+    }
+
+    private void writeJsonMetric(JsonGenerator json, String name, int[] metric) throws IOException {
+        json.writeArrayFieldStart(name);
+        for (int i = 0; i < size; i++) {
+            json.writeArray(metric, i * size, size);
+        }
+        json.writeEndArray();
+    }
+}
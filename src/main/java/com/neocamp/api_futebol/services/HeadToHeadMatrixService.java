@@ -0,0 +1,45 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class HeadToHeadMatrixService {
+    // 5 matrizes n × n de int: com 1000 clubes são ~20 MB por requisição
+    static final int MAX_MATRIX_CLUBS = 1000;
+
+    private final ClubRepository clubRepository;
+
+    private final MatchRepository matchRepository;
+
+    public HeadToHeadMatrixService(ClubRepository clubRepository, MatchRepository matchRepository) {
+        this.clubRepository = clubRepository;
+        this.matchRepository = matchRepository;
+    }
+
+    // Uma passada pelas partidas; o stream exige a transação aberta até o fim da leitura
+    @Transactional(readOnly = true)
+    public HeadToHeadMatrix build(State state) {
+        List<Club> clubs = state == null
+                ? clubRepository.findAll(Sort.by("id"))
+                : clubRepository.findByStateOrderByIdAsc(state);
+        if (clubs.size() > MAX_MATRIX_CLUBS) {
+            throw new BadRequestException("Clubes demais para a matriz, filtre por estado!");
+        }
+        HeadToHeadMatrix matrix = new HeadToHeadMatrix(clubs);
+        try (Stream<MatchScoreDTO> scores = matchRepository.streamScores(state)) {
+            scores.forEach(matrix::accept);
+        }
+        return matrix;
+    }
+}
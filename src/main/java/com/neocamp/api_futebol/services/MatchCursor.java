@@ -0,0 +1,34 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Posição opaca da paginação por chave: (matchDateTime, id) da última partida entregue
+public record MatchCursor(LocalDateTime matchDateTime, Long id) {
+
+    public static MatchCursor of(Match match) {
+        return new MatchCursor(match.getMatchDateTime(), match.getId());
+    }
+
+    public static MatchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new MatchCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido!");
+        }
+    }
+
+    public String encode() {
+        String raw = matchDateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
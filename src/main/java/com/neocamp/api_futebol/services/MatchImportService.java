@@ -0,0 +1,187 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
+import com.neocamp.api_futebol.dtos.response.ImportStatus;
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesImportResponseDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesImportRowDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.exception.ApiException;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.MatchBatchRepository;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Importação de partidas em lote: as mesmas regras do cadastro unitário, mas com consultas
+// por conjunto (clubes, estádios e agenda do período) e INSERT em lotes JDBC
+@Service
+public class MatchImportService {
+    static final int MAX_IMPORT_SIZE = 50_000;
+
+    private final MatchRepository matchRepository;
+
+    private final MatchBatchRepository matchBatchRepository;
+
+    private final ClubRepository clubRepository;
+
+    private final StadiumRepository stadiumRepository;
+
+    private final MatchValidationsService matchValidationsService;
+
+    private final ClubStatsService clubStatsService;
+
+    private final MatchScheduleIndex matchScheduleIndex;
+
+    private final HeadToHeadCache headToHeadCache;
+
+    private final Validator validator;
+
+    public MatchImportService(MatchRepository matchRepository, MatchBatchRepository matchBatchRepository,
+                              ClubRepository clubRepository, StadiumRepository stadiumRepository,
+                              MatchValidationsService matchValidationsService, ClubStatsService clubStatsService,
+                              MatchScheduleIndex matchScheduleIndex, HeadToHeadCache headToHeadCache,
+                              Validator validator) {
+        this.matchRepository = matchRepository;
+        this.matchBatchRepository = matchBatchRepository;
+        this.clubRepository = clubRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.matchValidationsService = matchValidationsService;
+        this.clubStatsService = clubStatsService;
+        this.matchScheduleIndex = matchScheduleIndex;
+        this.headToHeadCache = headToHeadCache;
+        this.validator = validator;
+    }
+
+    @Transactional
+    public MatchesImportResponseDTO importMatches(List<MatchesRequestDTO> matches) {
+        if (matches == null || matches.isEmpty()) {
+            throw new BadRequestException("Lote de partidas vazio!");
+        }
+        if (matches.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("Lote excede o limite de " + MAX_IMPORT_SIZE + " partidas!");
+        }
+
+        String[] errors = new String[matches.size()];
+        Set<Long> clubIds = new HashSet<>();
+        Set<Long> stadiumIds = new HashSet<>();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (int i = 0; i < matches.size(); i++) {
+            errors[i] = validateFields(matches.get(i));
+            if (errors[i] == null) {
+                MatchesRequestDTO match = matches.get(i);
+                clubIds.add(match.homeClubId());
+                clubIds.add(match.awayClubId());
+                stadiumIds.add(match.stadiumId());
+                first = first == null || match.matchDateTime().isBefore(first) ? match.matchDateTime() : first;
+                last = last == null || match.matchDateTime().isAfter(last) ? match.matchDateTime() : last;
+            }
+        }
+
+        List<Integer> accepted = new ArrayList<>();
+        if (first != null) {
+            Map<Long, Club> clubs = clubRepository.findAllById(clubIds).stream()
+                    .collect(Collectors.toMap(Club::getId, club -> club));
+            Map<Long, Stadium> stadiums = stadiumRepository.findAllById(stadiumIds).stream()
+                    .collect(Collectors.toMap(Stadium::getId, stadium -> stadium));
+
+            // agenda existente que pode conflitar com o lote; cada partida aceita entra nela,
+            // então o lote também é validado contra ele mesmo, na ordem recebida
+            MatchSchedule schedule = new MatchSchedule();
+            matchRepository.findSchedulesBetween(clubIds, stadiumIds,
+                    first.minusHours(MatchRepository.NEAR_MATCH_HOURS),
+                    last.plusHours(MatchRepository.NEAR_MATCH_HOURS)).forEach(schedule::add);
+
+            for (int i = 0; i < matches.size(); i++) {
+                if (errors[i] == null) {
+                    errors[i] = validateRules(matches.get(i), clubs, stadiums, schedule, i);
+                    if (errors[i] == null) {
+                        accepted.add(i);
+                    }
+                }
+            }
+        }
+
+        List<MatchesRequestDTO> toInsert = accepted.stream().map(matches::get).toList();
+        List<Long> ids = toInsert.isEmpty() ? List.of() : matchBatchRepository.insertAll(toInsert);
+
+        List<MatchScoreDTO> scores = new ArrayList<>(ids.size());
+        List<MatchScheduleDTO> schedules = new ArrayList<>(ids.size());
+        Set<HeadToHeadCache.Pair> pairs = new HashSet<>();
+        Map<Integer, Long> idsByIndex = new HashMap<>();
+        for (int k = 0; k < ids.size(); k++) {
+            MatchesRequestDTO match = toInsert.get(k);
+            scores.add(new MatchScoreDTO(match.homeClubId(), match.awayClubId(), match.homeGoals(), match.awayGoals()));
+            schedules.add(new MatchScheduleDTO(ids.get(k), match.homeClubId(), match.awayClubId(),
+                    match.stadiumId(), match.matchDateTime()));
+            idsByIndex.put(accepted.get(k), ids.get(k));
+            pairs.add(HeadToHeadCache.Pair.of(match.homeClubId(), match.awayClubId()));
+        }
+        clubStatsService.registerScores(scores);
+        matchScheduleIndex.registerAll(schedules);
+        headToHeadCache.invalidateAll(pairs);
+
+        List<MatchesImportRowDTO> results = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            results.add(errors[i] == null
+                    ? new MatchesImportRowDTO(i, ImportStatus.CREATED, idsByIndex.get(i), null)
+                    : new MatchesImportRowDTO(i, ImportStatus.REJECTED, null, errors[i]));
+        }
+        return new MatchesImportResponseDTO(ids.size(), matches.size() - ids.size(), results);
+    }
+
+    private String validateFields(MatchesRequestDTO match) {
+        if (match == null) {
+            return "Partida vazia!";
+        }
+        Set<ConstraintViolation<MatchesRequestDTO>> violations = validator.validate(match);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private String validateRules(MatchesRequestDTO match, Map<Long, Club> clubs, Map<Long, Stadium> stadiums,
+                                 MatchSchedule schedule, int index) {
+        Club home = clubs.get(match.homeClubId());
+        Club away = clubs.get(match.awayClubId());
+        if (home == null || away == null) {
+            return "Clube não encontrado!";
+        }
+        Stadium stadium = stadiums.get(match.stadiumId());
+        if (stadium == null) {
+            return "Estádio não encontrado!";
+        }
+        try {
+            matchValidationsService.validateNotSameClubs(home, away);
+            matchValidationsService.validateClubsActive(home, away);
+            matchValidationsService.validateDateAfterFoundation(match.matchDateTime(), home, away);
+            matchValidationsService.validateNoScheduleConflicts(schedule.findConflicts(
+                    home.getId(), away.getId(), stadium.getId(), match.matchDateTime(), MatchRepository.NO_MATCH_ID));
+        } catch (ApiException ex) {
+            return ex.getMessage();
+        }
+        // id provisório negativo: não colide com ids do banco nem com NO_MATCH_ID
+        schedule.add(new MatchScheduleDTO(-(index + 1L), home.getId(), away.getId(), stadium.getId(), match.matchDateTime()));
+        return null;
+    }
+}
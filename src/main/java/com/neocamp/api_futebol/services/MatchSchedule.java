@@ -0,0 +1,104 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Agenda de partidas para as regras de conflito: horários ordenados por clube
+// e dias ocupados por estádio. Segura para escritores concorrentes.
+public final class MatchSchedule {
+
+    private static final Comparator<Slot> SLOT_ORDER =
+            Comparator.comparing(Slot::dateTime).thenComparingLong(Slot::matchId);
+
+    private final Map<Long, NavigableSet<Slot>> clubSlots = new ConcurrentHashMap<>();
+
+    private final Map<Long, Map<LocalDate, Set<Long>>> stadiumDays = new ConcurrentHashMap<>();
+
+    // Mesmos bits de MatchRepository.findScheduleConflicts
+    public int findConflicts(Long homeClubId, Long awayClubId, Long stadiumId, LocalDateTime dateTime, long ignoredMatchId) {
+        int conflicts = 0;
+        LocalDateTime start = dateTime.minusHours(MatchRepository.NEAR_MATCH_HOURS);
+        LocalDateTime end = dateTime.plusHours(MatchRepository.NEAR_MATCH_HOURS);
+        if (hasSlotBetween(homeClubId, start, end, ignoredMatchId) || hasSlotBetween(awayClubId, start, end, ignoredMatchId)) {
+            conflicts |= MatchRepository.CONFLICT_NEAR_MATCH;
+        }
+        if (hasMatchOnDay(stadiumId, dateTime.toLocalDate(), ignoredMatchId)) {
+            conflicts |= MatchRepository.CONFLICT_STADIUM_DAY;
+        }
+        return conflicts;
+    }
+
+    public void add(MatchScheduleDTO schedule) {
+        Slot slot = new Slot(schedule.matchDateTime(), schedule.matchId());
+        slotsOf(schedule.homeClubId()).add(slot);
+        slotsOf(schedule.awayClubId()).add(slot);
+        stadiumDays.computeIfAbsent(schedule.stadiumId(), id -> new ConcurrentHashMap<>())
+                .compute(schedule.matchDateTime().toLocalDate(), (day, ids) -> {
+                    Set<Long> matchIds = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    matchIds.add(schedule.matchId());
+                    return matchIds;
+                });
+    }
+
+    public void remove(MatchScheduleDTO schedule) {
+        Slot slot = new Slot(schedule.matchDateTime(), schedule.matchId());
+        slotsOf(schedule.homeClubId()).remove(slot);
+        slotsOf(schedule.awayClubId()).remove(slot);
+        Map<LocalDate, Set<Long>> days = stadiumDays.get(schedule.stadiumId());
+        if (days != null) {
+            // add e remove passam por compute, atômico por chave: o dia vazio sai sem perder um add concorrente
+            days.computeIfPresent(schedule.matchDateTime().toLocalDate(), (day, ids) -> {
+                ids.remove(schedule.matchId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    public void clear() {
+        clubSlots.clear();
+        stadiumDays.clear();
+    }
+
+    private NavigableSet<Slot> slotsOf(Long clubId) {
+        return clubSlots.computeIfAbsent(clubId, id -> new ConcurrentSkipListSet<>(SLOT_ORDER));
+    }
+
+    // Intervalo aberto (start, end), como na consulta do banco
+    private boolean hasSlotBetween(Long clubId, LocalDateTime start, LocalDateTime end, long ignoredMatchId) {
+        NavigableSet<Slot> slots = clubId != null ? clubSlots.get(clubId) : null;
+        if (slots == null) {
+            return false;
+        }
+        for (Slot slot : slots.subSet(new Slot(start, Long.MAX_VALUE), false, new Slot(end, Long.MIN_VALUE), false)) {
+            if (slot.matchId() != ignoredMatchId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasMatchOnDay(Long stadiumId, LocalDate day, long ignoredMatchId) {
+        Map<LocalDate, Set<Long>> days = stadiumId != null ? stadiumDays.get(stadiumId) : null;
+        Set<Long> ids = days != null ? days.get(day) : null;
+        if (ids == null) {
+            return false;
+        }
+        for (Long id : ids) {
+            if (id != ignoredMatchId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Slot(LocalDateTime dateTime, long matchId) {}
+}
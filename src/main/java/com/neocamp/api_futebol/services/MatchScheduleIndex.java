@@ -0,0 +1,93 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+// Agenda de todas as partidas em memória, carregada na subida e mantida pelas escritas do MatchService
+// e do MatchImportService. Depois de carregada, a resposta daqui vale nos dois sentidos (conflito ou não)
+// e o banco só é consultado enquanto ela não está pronta (ou com match.schedule-index.enabled=false).
+// Vale para uma instância só: escritas feitas fora dela só aparecem aqui depois de um novo load().
+@Component
+public class MatchScheduleIndex {
+
+    private final MatchRepository matchRepository;
+
+    private final boolean enabled;
+
+    private final MatchSchedule schedule = new MatchSchedule();
+
+    private volatile boolean loaded;
+
+    public MatchScheduleIndex(MatchRepository matchRepository,
+                              @Value("${match.schedule-index.enabled}") boolean enabled) {
+        this.matchRepository = matchRepository;
+        this.enabled = enabled;
+    }
+
+    // Lida em stream, sem montar a lista de todas as partidas antes de indexar
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        loaded = false;
+        schedule.clear();
+        try (Stream<MatchScheduleDTO> schedules = matchRepository.streamAllSchedules()) {
+            schedules.forEach(schedule::add);
+        }
+        loaded = true;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int findConflicts(Long homeClubId, Long awayClubId, Long stadiumId, LocalDateTime dateTime, long ignoredMatchId) {
+        return schedule.findConflicts(homeClubId, awayClubId, stadiumId, dateTime, ignoredMatchId);
+    }
+
+    // As alterações só entram no índice depois do commit, para um rollback não deixar partida fantasma
+    public void register(MatchScheduleDTO match) {
+        afterCommit(() -> schedule.add(match));
+    }
+
+    public void registerAll(Collection<MatchScheduleDTO> matches) {
+        afterCommit(() -> matches.forEach(schedule::add));
+    }
+
+    public void replace(MatchScheduleDTO previous, MatchScheduleDTO current) {
+        afterCommit(() -> {
+            schedule.remove(previous);
+            schedule.add(current);
+        });
+    }
+
+    public void unregister(MatchScheduleDTO match) {
+        afterCommit(() -> schedule.remove(match));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.neocamp.api_futebol.services;
 
+import com.neocamp.api_futebol.config.MetricsConfiguration;
 import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
 import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesResponseDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesCursorPageDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
 import com.neocamp.api_futebol.dtos.response.OppRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.RetrospectBatchEntryDTO;
 import com.neocamp.api_futebol.entities.Club;
 import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
@@ -13,19 +19,29 @@ import com.neocamp.api_futebol.exception.NotFoundException;
 import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.repositories.MatchRepository;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(value = "api.service", histogram = true)
 public class MatchService {
     private static final String clubNotFoundMessage = "Clube não encontrado!";
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+
     private final MatchRepository matchRepository;
 
     private final MatchValidationsService matchValidationsService;
@@ -34,27 +50,42 @@ public class MatchService {
 
     private final StadiumRepository stadiumRepository;
 
+    private final ClubStatsService clubStatsService;
+
+    private final MatchScheduleIndex matchScheduleIndex;
+
+    private final HeadToHeadCache headToHeadCache;
+
     public MatchService(MatchRepository matchRepository, MatchValidationsService matchValidationsService,
-                        ClubRepository clubRepository, StadiumRepository stadiumRepository) {
+                        ClubRepository clubRepository, StadiumRepository stadiumRepository,
+                        ClubStatsService clubStatsService, MatchScheduleIndex matchScheduleIndex,
+                        HeadToHeadCache headToHeadCache) {
         this.matchRepository = matchRepository;
         this.matchValidationsService = matchValidationsService;
         this.clubRepository = clubRepository;
         this.stadiumRepository = stadiumRepository;
+        this.clubStatsService = clubStatsService;
+        this.matchScheduleIndex = matchScheduleIndex;
+        this.headToHeadCache = headToHeadCache;
     }
 
+    @Transactional
     public MatchesResponseDTO createMatch(@Valid MatchesRequestDTO matchesRequestDTO) {
-        Club homeClub = matchValidationsService.findClubOrThrow(matchesRequestDTO.homeClubId());
-        Club awayClub =  matchValidationsService.findClubOrThrow(matchesRequestDTO.awayClubId());
+        List<Club> clubs = matchValidationsService.findClubsOrThrow(matchesRequestDTO.homeClubId(), matchesRequestDTO.awayClubId());
+        Club homeClub = clubs.get(0);
+        Club awayClub = clubs.get(1);
         Stadium stadium = matchValidationsService.findStadiumOrThrow(matchesRequestDTO.stadiumId());
 
         matchValidationsService.validateNotSameClubs(homeClub, awayClub);
         matchValidationsService.validateClubsActive(homeClub, awayClub);
         matchValidationsService.validateDateAfterFoundation(matchesRequestDTO.matchDateTime(), homeClub, awayClub);
-        matchValidationsService.validateNoNearMatches(homeClub, awayClub, matchesRequestDTO.matchDateTime());
-        matchValidationsService.validateStadiumAvailable(stadium, matchesRequestDTO.matchDateTime());
+        matchValidationsService.validateScheduleAvailable(homeClub, awayClub, stadium, matchesRequestDTO.matchDateTime());
 
         Match match = new Match(homeClub, awayClub, stadium, matchesRequestDTO.matchDateTime(), matchesRequestDTO.homeGoals(), matchesRequestDTO.awayGoals());
         matchRepository.save(match);
+        clubStatsService.registerMatch(match);
+        matchScheduleIndex.register(MatchScheduleDTO.of(match));
+        headToHeadCache.invalidate(homeClub.getId(), awayClub.getId());
 
         String result = formatResult(match);
         String winner = determineWinner(match);
@@ -70,25 +101,32 @@ public class MatchService {
                 );
     }
 
+    @Transactional
     public MatchesResponseDTO updateMatch(Long id, MatchesRequestDTO matchesRequestDTO) {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Partida não encontrada!"));
 
-        Club homeClub = matchValidationsService.findClubOrThrow(matchesRequestDTO.homeClubId());
-        Club awayClub =  matchValidationsService.findClubOrThrow(matchesRequestDTO.awayClubId());
+        List<Club> clubs = matchValidationsService.findClubsOrThrow(matchesRequestDTO.homeClubId(), matchesRequestDTO.awayClubId());
+        Club homeClub = clubs.get(0);
+        Club awayClub = clubs.get(1);
         Stadium stadium = matchValidationsService.findStadiumOrThrow(matchesRequestDTO.stadiumId());
 
         matchValidationsService.validateNotSameClubs(homeClub, awayClub);
         matchValidationsService.validateClubsActive(homeClub, awayClub);
         matchValidationsService.validateDateAfterFoundation(matchesRequestDTO.matchDateTime(), homeClub, awayClub);
-        matchValidationsService.validateNoNearMatches(homeClub, awayClub, matchesRequestDTO.matchDateTime(), id);
-        matchValidationsService.validateStadiumAvailable(stadium, matchesRequestDTO.matchDateTime(), id);
+        matchValidationsService.validateScheduleAvailable(homeClub, awayClub, stadium, matchesRequestDTO.matchDateTime(), id);
 
+        clubStatsService.unregisterMatch(match);
+        MatchScheduleDTO previousSchedule = MatchScheduleDTO.of(match);
+        headToHeadCache.invalidate(match.getHomeClub().getId(), match.getAwayClub().getId());
         match.setHomeClub(homeClub);
         match.setAwayClub(awayClub);
         match.setStadium(stadium);
 
         matchRepository.save(match);
+        clubStatsService.registerMatch(match);
+        matchScheduleIndex.replace(previousSchedule, MatchScheduleDTO.of(match));
+        headToHeadCache.invalidate(homeClub.getId(), awayClub.getId());
 
         String result = formatResult(match);
         String winner = determineWinner(match);
@@ -103,11 +141,14 @@ public class MatchService {
         );
     }
 
+    @Transactional
     public void deleteMatch(Long id) {
-        if (!matchRepository.existsById(id)) {
-            throw new NotFoundException("Partida não encontrada!");
-        }
-        matchRepository.deleteById(id);
+        Match match = matchRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Partida não encontrada!"));
+        clubStatsService.unregisterMatch(match);
+        matchRepository.delete(match);
+        matchScheduleIndex.unregister(MatchScheduleDTO.of(match));
+        headToHeadCache.invalidate(match.getHomeClub().getId(), match.getAwayClub().getId());
     }
 
     public MatchesResponseDTO findById(Long id) {
@@ -129,6 +170,35 @@ public class MatchService {
     }
 
     public Page<MatchesResponseDTO> searchMatches(Long clubId, Long stadiumId, Boolean routs, String side, Pageable pageable) {
+        validateSearchFilters(clubId, stadiumId, side);
+        Page<Match> matches = matchRepository.findWithFilters(clubId, stadiumId, routs, side, pageable);
+        return matches.map(this::toResponse);
+    }
+
+    public MatchesCursorPageDTO searchMatchesAfter(Long clubId, Long stadiumId, Boolean routs, String side, String after, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Tamanho de página inválido!");
+        }
+        validateSearchFilters(clubId, stadiumId, side);
+
+        // busca um a mais só para saber se existe próxima página
+        Limit limit = Limit.of(size + 1);
+        List<Match> matches;
+        if (after == null || after.isBlank()) {
+            matches = matchRepository.findFirstWithFilters(clubId, stadiumId, routs, side, limit);
+        } else {
+            MatchCursor cursor = MatchCursor.decode(after);
+            matches = matchRepository.findWithFiltersAfter(clubId, stadiumId, routs, side,
+                    cursor.matchDateTime(), cursor.id(), limit);
+        }
+
+        boolean hasNext = matches.size() > size;
+        List<Match> page = hasNext ? matches.subList(0, size) : matches;
+        String nextCursor = hasNext ? MatchCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new MatchesCursorPageDTO(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    private void validateSearchFilters(Long clubId, Long stadiumId, String side) {
         if (clubId != null && !clubRepository.existsById(clubId)) {
             throw new NotFoundException(clubNotFoundMessage);
         }
@@ -138,67 +208,54 @@ public class MatchService {
         if (side != null && !side.equalsIgnoreCase("casa") && !side.equalsIgnoreCase("fora")) {
             throw new BadRequestException("Lado inválido!");
         }
-        Page<Match> matches = matchRepository.findWithFilters(clubId, stadiumId, routs, side, pageable);
-        return matches.map(m -> {
-            String result = formatResult(m);
-            String winner = determineWinner(m);
-            return new MatchesResponseDTO(m, result, winner);
-        });
     }
 
-    public MatchesRetrospectDTO getClubRetrospective(Long id, String side) {
-        clubRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(clubNotFoundMessage));
-
-        List<Match> matches;
+    private MatchesResponseDTO toResponse(Match match) {
+        return new MatchesResponseDTO(match, formatResult(match), determineWinner(match));
+    }
 
+    @Timed(value = "api.service.retrospect", histogram = true)
+    public MatchesRetrospectDTO getClubRetrospective(Long id, @MeterTag(key = "side", resolver = MetricsConfiguration.RetrospectSideTag.class) String side) {
         if (side != null && !side.equalsIgnoreCase("casa") && !side.equalsIgnoreCase("fora")) {
             throw new BadRequestException("Lado inválido!");
         }
 
-        if ("casa".equalsIgnoreCase(side)) {
-            matches = matchRepository.findAllHomeMatchesForClub(id);
-        } else if ("fora".equalsIgnoreCase(side)) {
-            matches = matchRepository.findAllAwayMatchesForClub(id);
-        } else {
-            matches = matchRepository.findAllMatchesForClub(id);
-        }
+        // leitura pela chave de club_stats, sem agregar partidas; vazio = clube inexistente
+        boolean home = side == null || side.equalsIgnoreCase("casa");
+        boolean away = side == null || side.equalsIgnoreCase("fora");
+        return clubStatsService.findRetrospective(id, home, away)
+                .orElseThrow(() -> new NotFoundException(clubNotFoundMessage));
+    }
 
-        Optional<Club> value = clubRepository.findById(id);
-        if (!value.isPresent()) {
-            throw new NotFoundException(clubNotFoundMessage);
+    // Retrospecto de vários clubes numa consulta só, por id na ordem pedida (repetidos uma vez).
+    // Clube inexistente vira erro na própria entrada, sem derrubar o lote.
+    @Timed(value = "api.service.retrospect.batch", histogram = true)
+    public Map<Long, RetrospectBatchEntryDTO> getClubRetrospectives(List<Long> ids, @MeterTag(key = "side", resolver = MetricsConfiguration.RetrospectSideTag.class) String side) {
+        if (side != null && !side.equalsIgnoreCase("casa") && !side.equalsIgnoreCase("fora")) {
+            throw new BadRequestException("Lado inválido!");
         }
-        String clubName = value.get().getName();
-
-        int matchesQuantity = 0;
-        int victories = 0;
-        int draws = 0;
-        int defeats = 0;
-        int goalsFor = 0;
-        int goalsAgainst = 0;
-
-        for (Match match : matches) {
-            boolean isHome = match.getHomeClub().getId().equals(id);
-
-            // se for o time de casa pega os gols do time de casa, se for de fora pega os gols do time de fora
-            int clubGoals = isHome ? match.getHomeGoals() : match.getAwayGoals();
-            int oppGoals = isHome ? match.getAwayGoals() : match.getHomeGoals();
 
-            goalsFor += clubGoals;
-            goalsAgainst += oppGoals;
-
-            if(clubGoals > oppGoals){
-                victories++;
-            } else if(oppGoals == clubGoals){
-                draws++;
-            } else defeats++;
+        boolean home = side == null || side.equalsIgnoreCase("casa");
+        boolean away = side == null || side.equalsIgnoreCase("fora");
+        Set<Long> clubIds = new LinkedHashSet<>(ids);
+        Map<Long, MatchesRetrospectDTO> found = new HashMap<>();
+        for (ClubRetrospectDTO row : clubStatsService.findRetrospectives(clubIds, home, away)) {
+            found.put(row.clubId(), new MatchesRetrospectDTO(row.clubName(), row.matches(), row.victories(),
+                    row.draws(), row.defeats(), row.goalsFor(), row.goalsAgainst()));
+        }
 
-            matchesQuantity++;
+        Map<Long, RetrospectBatchEntryDTO> entries = new LinkedHashMap<>();
+        for (Long clubId : clubIds) {
+            MatchesRetrospectDTO retrospect = found.get(clubId);
+            entries.put(clubId, retrospect != null
+                    ? new RetrospectBatchEntryDTO(retrospect, null)
+                    : new RetrospectBatchEntryDTO(null, clubNotFoundMessage));
         }
-        return new MatchesRetrospectDTO(clubName, matchesQuantity, victories, draws, defeats, goalsFor, goalsAgainst);
+        return entries;
     }
 
-    public List<OppRetrospectDTO> getOppRetrospects(Long id, String side) {
+    @Timed(value = "api.service.retrospect", histogram = true)
+    public List<OppRetrospectDTO> getOppRetrospects(Long id, @MeterTag(key = "side", resolver = MetricsConfiguration.RetrospectSideTag.class) String side) {
         clubRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(clubNotFoundMessage));
 
@@ -209,123 +266,39 @@ public class MatchService {
         return matchRepository.findOppsStats(id, side);
     }
 
-    public OppRetrospectDTO getOneOppRestrospect(Long id, Long oppId, String side) {
-        clubRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException(clubNotFoundMessage));
-
-        clubRepository.findById(oppId)
-                .orElseThrow(() -> new NotFoundException("Adversário não encontrado!"));
-
-
-        Optional<Club> value = clubRepository.findById(oppId);
-        if (value.isEmpty()) {
-            throw new NotFoundException("Adversário não encontrado!");
+    @Timed(value = "api.service.retrospect", histogram = true)
+    public OppRetrospectDTO getOneOppRestrospect(Long id, Long oppId, @MeterTag(key = "side", resolver = MetricsConfiguration.RetrospectSideTag.class) String side) {
+        // os dois clubes numa consulta só
+        List<Club> clubs = clubRepository.findAllById(List.of(id, oppId));
+        if (clubs.stream().noneMatch(club -> club.getId().equals(id))) {
+            throw new NotFoundException(clubNotFoundMessage);
         }
-        String oppName = value.get().getName();
-        if (side != null &&!side.equalsIgnoreCase("casa") && !side.equalsIgnoreCase("fora")) {
+        Club opp = clubs.stream().filter(club -> club.getId().equals(oppId)).findFirst()
+                .orElseThrow(() -> new NotFoundException("Adversário não encontrado!"));
+        if (side != null && !side.equalsIgnoreCase("casa") && !side.equalsIgnoreCase("fora")) {
             throw new BadRequestException("Lado inválido!");
         }
-        List<Match> matches = matchRepository.findAllMatchesBetweenClubs(id, oppId, side);
-
-        Long matchesQuantity = 0L;
-        Long victories = 0L;
-        Long draws = 0L;
-        Long defeats = 0L;
-        Long goalsFor = 0L;
-        Long goalsAgainst = 0L;
-
-        for (Match match : matches) {
-            boolean isHome = match.getHomeClub().getId().equals(id);
 
-            int clubGoals = isHome? match.getHomeGoals() : match.getAwayGoals();
-            int awayGoals = isHome? match.getAwayGoals() : match.getHomeGoals();
-
-            goalsFor += clubGoals;
-            goalsAgainst += awayGoals;
-
-            if(clubGoals > awayGoals){
-                victories++;
-            } else if(awayGoals == clubGoals){
-                draws++;
-            }  else defeats++;
-
-            matchesQuantity++;
-        }
-
-        return new OppRetrospectDTO(oppId, oppName, matchesQuantity, victories, draws, defeats, goalsFor, goalsAgainst);
+        boolean home = side == null || side.equalsIgnoreCase("casa");
+        boolean away = side == null || side.equalsIgnoreCase("fora");
+        HeadToHead.Totals totals = headToHeadCache.get(id, oppId).viewOf(id, home, away);
+        return new OppRetrospectDTO(oppId, opp.getName(), totals.matches(), totals.victories(), totals.draws(),
+                totals.defeats(), totals.goalsFor(), totals.goalsAgainst());
     }
 
-    public List<ClubRankingDTO> rankClubsByFilter(String filter) {
-        List<ClubRankingDTO> ranking = matchRepository.findClubRanking();
-
-        return switch(filter.toLowerCase()){
-            case "pontos" -> ranking.stream()
-                    .filter(r -> r.points() != null && r.points() > 0)
-                    .sorted(Comparator.comparing(ClubRankingDTO::points).reversed())
-                    .toList();
-            case "gols"  -> ranking.stream()
-                    .filter(r -> r.goals() != null && r.goals() > 0)
-                    .sorted(Comparator.comparing(ClubRankingDTO::goals).reversed())
-                    .toList();
-            case "vitorias" ->  ranking.stream()
-                    .filter(r -> r.victories() != null && r.victories() > 0)
-                    .sorted(Comparator.comparing(ClubRankingDTO::victories).reversed())
-                    .toList();
-            case "partidas" -> ranking.stream()
-                    .filter(r -> r.matches() != null && r.matches() > 0)
-                    .sorted(Comparator.comparing(ClubRankingDTO::matches).reversed())
-                    .toList();
-            default -> throw new BadRequestException("Filtro inválido!");
-        };
+    @Timed(value = "api.service.ranking", histogram = true)
+    public List<ClubRankingDTO> rankClubsByFilter(@MeterTag(key = "filter", resolver = MetricsConfiguration.RankingFilterTag.class) String filter, Pageable pageable) {
+        return clubStatsService.findRanking(filter, pageable);
     }
 
-        public List<ClubRankingDTO> rankClubsByFilterStream(String filter) {
-            List<Club> clubs = clubRepository.findAll();
-            List<Match> matches = matchRepository.findAll();
-
-            List<ClubRankingDTO> ranking = clubs.stream()
-                    .map(club -> {
-                long victories = matches.stream()
-                        .filter(m -> (m.getHomeClub().getId().equals(club.getId()) && m.getHomeGoals() > m.getAwayGoals()) ||
-                                     (m.getAwayClub().getId().equals(club.getId()) && m.getAwayGoals() > m.getHomeGoals()))
-                        .count();
-                long draws = matches.stream()
-                        .filter(m -> (m.getHomeClub().getId().equals(club.getId()) || m.getAwayClub().getId().equals(club.getId())) &&
-                                     m.getHomeGoals().equals(m.getAwayGoals()))
-                        .count();
-                long points = victories * 3 + draws;
-                long goals = matches.stream()
-                        .mapToLong(m -> {
-                            if (m.getHomeClub().getId().equals(club.getId())) return m.getHomeGoals();
-                            if (m.getAwayClub().getId().equals(club.getId())) return m.getAwayGoals();
-                            return 0;
-                        }).sum();
-                long totalMatches = matches.stream()
-                        .filter(m -> m.getHomeClub().getId().equals(club.getId()) || m.getAwayClub().getId().equals(club.getId()))
-                        .count();
-                return new ClubRankingDTO(club.getId(), club.getName(), points, goals, victories, totalMatches);
-            }).toList();
-
-            return switch (filter) {
-                case "pontos" -> ranking.stream()
-                        .filter(r -> r.points() != null && r.points() > 0)
-                        .sorted(Comparator.comparing(ClubRankingDTO::points).reversed())
-                        .toList();
-                case "gols" -> ranking.stream()
-                        .filter(r -> r.goals() != null && r.goals() > 0)
-                        .sorted(Comparator.comparing(ClubRankingDTO::goals).reversed())
-                        .toList();
-                case "vitorias" -> ranking.stream()
-                        .filter(r -> r.victories() != null && r.victories() > 0)
-                        .sorted(Comparator.comparing(ClubRankingDTO::victories).reversed())
-                        .toList();
-                case "partidas" -> ranking.stream()
-                        .filter(r -> r.matches() != null && r.matches() > 0)
-                        .sorted(Comparator.comparing(ClubRankingDTO::matches).reversed())
-                        .toList();
-                default -> throw new BadRequestException("Filtro inválido!");
-            };
+    @Timed(value = "api.service.ranking", histogram = true)
+    public List<ClubRankingDTO> rankClubsByFilterStream(@MeterTag(key = "filter", resolver = MetricsConfiguration.RankingFilterTag.class) String filter) {
+        ClubRankingEngine engine = new ClubRankingEngine(clubRepository.findAll());
+        for (MatchScoreDTO score : matchRepository.findAllScores()) {
+            engine.accept(score);
         }
+        return engine.rank(filter);
+    }
 
     public String determineWinner(Match match) {
         if(match.getHomeGoals() > match.getAwayGoals()){
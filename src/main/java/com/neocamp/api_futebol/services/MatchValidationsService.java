@@ -1,18 +1,21 @@
 package com.neocamp.api_futebol.services;
 
 import com.neocamp.api_futebol.entities.Club;
-import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
 import com.neocamp.api_futebol.exception.BadRequestException;
 import com.neocamp.api_futebol.exception.ConflictException;
 import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.repositories.MatchRepository;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
+@Timed(value = "api.service", histogram = true)
 public class MatchValidationsService {
 
     private final MatchRepository matchRepository;
@@ -21,67 +24,87 @@ public class MatchValidationsService {
 
     private final StadiumRepository stadiumRepository;
 
+    private final MatchScheduleIndex matchScheduleIndex;
+
+    private final MeterRegistry meterRegistry;
+
     public MatchValidationsService(MatchRepository matchRepository, ClubRepository clubRepository,
-                                   StadiumRepository stadiumRepository) {
+                                   StadiumRepository stadiumRepository, MatchScheduleIndex matchScheduleIndex,
+                                   MeterRegistry meterRegistry) {
         this.matchRepository = matchRepository;
         this.clubRepository = clubRepository;
         this.stadiumRepository = stadiumRepository;
+        this.matchScheduleIndex = matchScheduleIndex;
+        this.meterRegistry = meterRegistry;
     }
 
     public void validateNotSameClubs(Club home, Club away){
         if(home.getId().equals(away.getId())){
-            throw new BadRequestException("Clubes não podem ser iguais!");
+            throw rejected("same_clubs", new BadRequestException("Clubes não podem ser iguais!"));
         }
     }
     public void validateClubsActive(Club home, Club away){
         if (!Boolean.TRUE.equals(home.getActive()) || !Boolean.TRUE.equals(away.getActive())) {
-            throw new ConflictException("Clube inativo!");
+            throw rejected("inactive_club", new ConflictException("Clube inativo!"));
         }
     }
 
     public void validateDateAfterFoundation(LocalDateTime matchDateTime, Club home, Club away){
         if(matchDateTime.toLocalDate().isBefore(home.getCreatedAt())
         || matchDateTime.toLocalDate().isBefore(away.getCreatedAt())){
-            throw new ConflictException("Partida não pode ser criada antes da fundação de algum dos clubes!");
+            throw rejected("before_foundation",
+                    new ConflictException("Partida não pode ser criada antes da fundação de algum dos clubes!"));
         }
     }
 
-    public void validateNoNearMatches(Club home, Club away, LocalDateTime matchDateTime){
-        if(!matchRepository.findMatchesNearDateForClub(home.getId(), matchDateTime).isEmpty()
-            || !matchRepository.findMatchesNearDateForClub(away.getId(), matchDateTime).isEmpty()){
-            throw new ConflictException("Clubes possuem partidas próximas!");
-        }
+    // Partidas próximas dos clubes e estádio ocupado no dia: com o índice em memória carregado, só ele
+    // responde (O(log n), sem ida ao banco); antes disso, a consulta única do banco.
+    // Supõe uma instância só, por onde passam todas as escritas de partidas (MatchService e
+    // MatchImportService): escrita de outra instância ou por SQL direto não aparece no índice até a
+    // próxima subida. Para rodar mais de uma instância, desligar com match.schedule-index.enabled=false.
+    public void validateScheduleAvailable(Club home, Club away, Stadium stadium, LocalDateTime matchDateTime){
+        validateScheduleAvailable(home, away, stadium, matchDateTime, MatchRepository.NO_MATCH_ID);
     }
 
-
-    public void validateNoNearMatches(Club home, Club away, LocalDateTime matchDateTime, Long matchId){
-        if(!matchRepository.findMatchesNearDateForClubIgnoringMatch(home.getId(), matchDateTime, matchId).isEmpty()
-                || !matchRepository.findMatchesNearDateForClubIgnoringMatch(away.getId(), matchDateTime, matchId).isEmpty()){
-            throw new ConflictException("Clubes possuem partidas próximas!");
-        }
+    public void validateScheduleAvailable(Club home, Club away, Stadium stadium, LocalDateTime matchDateTime, Long matchId){
+        int conflicts = matchScheduleIndex.isLoaded()
+                ? matchScheduleIndex.findConflicts(home.getId(), away.getId(), stadium.getId(), matchDateTime, matchId)
+                : matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), matchDateTime, matchId);
+        validateNoScheduleConflicts(conflicts);
     }
 
-    public void validateStadiumAvailable(Stadium stadium, LocalDateTime matchDateTime){
-        if(!matchRepository.findByStadiumAndDay(stadium.getId(), matchDateTime).isEmpty()){
-            throw new ConflictException("Estádio já tem partida no mesmo dia.");
+    // Traduz os bits de conflito de agenda nas mensagens de cada regra
+    public void validateNoScheduleConflicts(int conflicts){
+        if((conflicts & MatchRepository.CONFLICT_NEAR_MATCH) != 0){
+            throw rejected("near_match", new ConflictException("Clubes possuem partidas próximas!"));
         }
-    }
-
-    public void validateStadiumAvailable(Stadium stadium, LocalDateTime matchDateTime, Long matchId){
-        if(!matchRepository.findByStadiumAndDayIgnoringMatch(stadium.getId(), matchDateTime, matchId).isEmpty()){
-            throw new ConflictException("Estádio já tem partida no mesmo dia.");
+        if((conflicts & MatchRepository.CONFLICT_STADIUM_DAY) != 0){
+            throw rejected("stadium_day", new ConflictException("Estádio já tem partida no mesmo dia."));
         }
     }
 
-
-
-    public Club findClubOrThrow(Long clubId){
-        return clubRepository.findById(clubId)
-                .orElseThrow(() -> new BadRequestException("Clube não encontrado!"));
+    // Mandante e visitante num único findAllById; devolve [mandante, visitante]
+    public List<Club> findClubsOrThrow(Long homeClubId, Long awayClubId){
+        Club home = null;
+        Club away = null;
+        for (Club club : clubRepository.findAllById(List.of(homeClubId, awayClubId))) {
+            if (club.getId().equals(homeClubId)) home = club;
+            if (club.getId().equals(awayClubId)) away = club;
+        }
+        if (home == null || away == null) {
+            throw rejected("club_not_found", new BadRequestException("Clube não encontrado!"));
+        }
+        return List.of(home, away);
     }
 
     public Stadium findStadiumOrThrow(Long stadiumId){
         return stadiumRepository.findById(stadiumId)
-                .orElseThrow(() -> new BadRequestException("Estádio não encontrado!"));
+                .orElseThrow(() -> rejected("stadium_not_found", new BadRequestException("Estádio não encontrado!")));
+    }
+
+    // Conta a rejeição pela regra que a causou (api.match.validation.rejections{rule=...})
+    private RuntimeException rejected(String rule, RuntimeException exception) {
+        meterRegistry.counter("api.match.validation.rejections", "rule", rule).increment();
+        return exception;
     }
 }
@@ -0,0 +1,42 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+// Resolve CEPs pela base local (cep.dataset.path) antes de ir ao ViaCEP.
+// Sem caminho configurado fica desligado e todo CEP segue para o ViaCEP.
+@Component
+public class OfflineCepResolver {
+
+    private final CepDataset dataset;
+
+    public OfflineCepResolver(@Value("${cep.dataset.path:}") String datasetPath) {
+        this.dataset = datasetPath.isBlank() ? null : open(Path.of(datasetPath));
+    }
+
+    public static OfflineCepResolver disabled() {
+        return new OfflineCepResolver("");
+    }
+
+    public boolean isEnabled() {
+        return dataset != null;
+    }
+
+    // null quando desligado ou quando o CEP não está na base
+    public Address find(String cep) {
+        return dataset != null ? dataset.find(cep) : null;
+    }
+
+    private static CepDataset open(Path path) {
+        try {
+            return CepDataset.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a base de CEPs " + path, e);
+        }
+    }
+}
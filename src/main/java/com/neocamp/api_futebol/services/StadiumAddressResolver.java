@@ -0,0 +1,136 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.AddressStatus;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.exception.NotFoundException;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Resolve em segundo plano o endereço dos estádios salvos com status PENDING.
+// Cada CEP roda numa virtual thread: a espera do ViaCEP e o backoff entre tentativas não prendem threads do SO.
+// Cada tentativa ocupa uma das permissões de viacep.bulk.max-concurrency (devolvida durante o backoff):
+// depois de uma queda do ViaCEP, os PENDING retomados não chegam todos juntos a ele.
+@Component
+public class StadiumAddressResolver {
+
+    private final StadiumRepository stadiumRepository;
+
+    private final ViaCepService viaCepService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public StadiumAddressResolver(StadiumRepository stadiumRepository, ViaCepService viaCepService,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${stadium.address.max-attempts}") int maxAttempts,
+                                  @Value("${stadium.address.initial-backoff}") Duration initialBackoff,
+                                  @Value("${stadium.address.max-backoff}") Duration maxBackoff) {
+        this.stadiumRepository = stadiumRepository;
+        this.viaCepService = viaCepService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    // Retoma o que ficou pendente antes de um reinício
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        stadiumRepository.findByAddressStatus(AddressStatus.PENDING)
+                .forEach(stadium -> submit(stadium.getId(), stadium.getAddress().getCep()));
+    }
+
+    // Só dispara depois do commit: antes disso a virtual thread não enxergaria o estádio
+    public void schedule(Long stadiumId, String cep) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(stadiumId, cep);
+                }
+            });
+        } else {
+            submit(stadiumId, cep);
+        }
+    }
+
+    private void submit(Long stadiumId, String cep) {
+        executor.execute(() -> resolve(stadiumId, cep));
+    }
+
+    void resolve(Long stadiumId, String cep) {
+        Duration backoff = initialBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Address address = viaCepService.findByCepWithPermit(cep);
+                complete(stadiumId, cep, address, AddressStatus.RESOLVED);
+                return;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (NotFoundException ex) {
+                // CEP inexistente não melhora com nova tentativa
+                complete(stadiumId, cep, null, AddressStatus.FAILED);
+                return;
+            } catch (RuntimeException ex) {
+                // ViaCEP fora do ar ou lento: tenta de novo com backoff exponencial
+                if (attempt >= maxAttempts) {
+                    complete(stadiumId, cep, null, AddressStatus.FAILED);
+                    return;
+                }
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+        }
+    }
+
+    // Não sobrescreve se o estádio mudou de CEP (ou foi resolvido) enquanto esta tentativa rodava
+    private void complete(Long stadiumId, String cep, Address address, AddressStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> stadiumRepository.findById(stadiumId).ifPresent(stadium -> {
+            if (!isPendingFor(stadium, cep)) {
+                return;
+            }
+            if (address != null) {
+                stadium.setAddress(address);
+            }
+            stadium.setAddressStatus(status);
+            stadiumRepository.save(stadium);
+        }));
+    }
+
+    private boolean isPendingFor(Stadium stadium, String cep) {
+        return stadium.getAddressStatus() == AddressStatus.PENDING
+                && stadium.getAddress() != null && stadium.getAddress().getCep() != null
+                && stadium.getAddress().getCep().replace("-", "").equals(cep.replace("-", ""));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,137 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
+import com.neocamp.api_futebol.dtos.response.ImportStatus;
+import com.neocamp.api_futebol.dtos.response.StadiumsImportResponseDTO;
+import com.neocamp.api_futebol.dtos.response.StadiumsImportRowDTO;
+import com.neocamp.api_futebol.entities.AddressStatus;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.repositories.StadiumBatchRepository;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Importação de estádios em lote: nomes conferidos numa consulta só, CEPs distintos resolvidos
+// em paralelo pelo ViaCepService e INSERT em lotes JDBC
+@Service
+public class StadiumImportService {
+    static final int MAX_IMPORT_SIZE = 1_000;
+
+    private final StadiumRepository stadiumRepository;
+
+    private final StadiumBatchRepository stadiumBatchRepository;
+
+    private final ViaCepService viaCepService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    public StadiumImportService(StadiumRepository stadiumRepository, StadiumBatchRepository stadiumBatchRepository,
+                                ViaCepService viaCepService, PlatformTransactionManager transactionManager,
+                                Validator validator) {
+        this.stadiumRepository = stadiumRepository;
+        this.stadiumBatchRepository = stadiumBatchRepository;
+        this.viaCepService = viaCepService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+    }
+
+    // Sem transação durante as consultas ao ViaCEP: só o INSERT final segura conexão
+    public StadiumsImportResponseDTO importStadiums(List<StadiumRequestDTO> stadiums) {
+        if (stadiums == null || stadiums.isEmpty()) {
+            throw new BadRequestException("Lote de estádios vazio!");
+        }
+        if (stadiums.size() > MAX_IMPORT_SIZE) {
+            throw new BadRequestException("Lote excede o limite de " + MAX_IMPORT_SIZE + " estádios!");
+        }
+
+        String[] errors = new String[stadiums.size()];
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < stadiums.size(); i++) {
+            errors[i] = validateFields(stadiums.get(i));
+            if (errors[i] == null) {
+                names.add(lowerName(stadiums.get(i)));
+            }
+        }
+
+        // nome já cadastrado ou repetido no lote: vale a primeira ocorrência
+        Set<String> taken = names.isEmpty() ? new HashSet<>() : new HashSet<>(stadiumRepository.findExistingNamesIgnoreCase(names));
+        Set<String> ceps = new HashSet<>();
+        for (int i = 0; i < stadiums.size(); i++) {
+            if (errors[i] == null) {
+                if (!taken.add(lowerName(stadiums.get(i)))) {
+                    errors[i] = "Estádio ja existe!";
+                } else {
+                    ceps.add(stadiums.get(i).cep());
+                }
+            }
+        }
+
+        Map<String, ViaCepService.CepLookup> addresses = ceps.isEmpty() ? Map.of() : viaCepService.findAllByCep(ceps);
+
+        List<Integer> accepted = new ArrayList<>();
+        List<Stadium> toInsert = new ArrayList<>();
+        for (int i = 0; i < stadiums.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            ViaCepService.CepLookup lookup = addresses.get(stadiums.get(i).cep());
+            if (lookup.error() != null) {
+                errors[i] = lookup.error();
+                continue;
+            }
+            Stadium stadium = new Stadium();
+            stadium.setName(stadiums.get(i).name());
+            stadium.setAddress(lookup.address());
+            stadium.setAddressStatus(AddressStatus.RESOLVED);
+            toInsert.add(stadium);
+            accepted.add(i);
+        }
+
+        List<Long> ids = toInsert.isEmpty() ? List.of() : transactionTemplate.execute(tx -> stadiumBatchRepository.insertAll(toInsert));
+        Map<Integer, Long> idsByIndex = new HashMap<>();
+        for (int k = 0; k < ids.size(); k++) {
+            idsByIndex.put(accepted.get(k), ids.get(k));
+        }
+
+        List<StadiumsImportRowDTO> results = new ArrayList<>(stadiums.size());
+        for (int i = 0; i < stadiums.size(); i++) {
+            results.add(errors[i] == null
+                    ? new StadiumsImportRowDTO(i, ImportStatus.CREATED, idsByIndex.get(i), null)
+                    : new StadiumsImportRowDTO(i, ImportStatus.REJECTED, null, errors[i]));
+        }
+        return new StadiumsImportResponseDTO(ids.size(), stadiums.size() - ids.size(), results);
+    }
+
+    private String validateFields(StadiumRequestDTO stadium) {
+        if (stadium == null) {
+            return "Estádio vazio!";
+        }
+        Set<ConstraintViolation<StadiumRequestDTO>> violations = validator.validate(stadium);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private String lowerName(StadiumRequestDTO stadium) {
+        return stadium.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -4,11 +4,14 @@ import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
 import com.neocamp.api_futebol.dtos.request.StadiumUpdateDTO;
 import com.neocamp.api_futebol.dtos.response.StadiumResponseDTO;
 import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.AddressStatus;
 import com.neocamp.api_futebol.entities.Stadium;
 import com.neocamp.api_futebol.exception.ConflictException;
 import com.neocamp.api_futebol.exception.NotFoundException;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -16,14 +19,24 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
+@Timed(value = "api.service", histogram = true)
 public class StadiumService {
     private final  StadiumRepository stadiumRepository;
 
     private final ViaCepService viaCepService;
 
-    public StadiumService(StadiumRepository stadiumRepository, ViaCepService viaCepService) {
+    private final StadiumAddressResolver stadiumAddressResolver;
+
+    // true: salva o estádio com endereço PENDING e resolve o CEP em segundo plano
+    private final boolean asyncAddress;
+
+    public StadiumService(StadiumRepository stadiumRepository, ViaCepService viaCepService,
+                          StadiumAddressResolver stadiumAddressResolver,
+                          @Value("${stadium.address.async}") boolean asyncAddress) {
         this.stadiumRepository = stadiumRepository;
         this.viaCepService = viaCepService;
+        this.stadiumAddressResolver = stadiumAddressResolver;
+        this.asyncAddress = asyncAddress;
     }
 
 
@@ -32,13 +45,12 @@ public class StadiumService {
             throw new ConflictException("Estádio ja existe!");
         }
 
-        Address address = viaCepService.findByCep(stadiumRequestDTO.cep().replace("-", ""));
-
         Stadium stadium = new Stadium();
         stadium.setName(stadiumRequestDTO.name());
-        stadium.setAddress(address);
+        changeAddress(stadium, stadiumRequestDTO.cep());
         stadiumRepository.save(stadium);
-        return new StadiumResponseDTO(stadium.getId(), stadium.getName(), stadium.getAddress(), stadium.getActive());
+        scheduleIfPending(stadium);
+        return new StadiumResponseDTO(stadium);
     }
 
     public StadiumResponseDTO updateStadium(Long id, @Valid StadiumUpdateDTO stadiumRequestDTO) {
@@ -52,13 +64,39 @@ public class StadiumService {
             stadium.setName(stadiumRequestDTO.name());
         }
 
+        boolean addressChanged = false;
         if (stadiumRequestDTO.cep() != null && !stadiumRequestDTO.cep().isBlank() &&
-                (stadium.getAddress() == null || !stadiumRequestDTO.cep().replace("-", "").equals(stadium.getAddress().getCep().replace("-", "")))) {
-            Address newAddress = viaCepService.findByCep(stadiumRequestDTO.cep().replace("-", ""));
-            stadium.setAddress(newAddress);
+                (stadium.getAddress() == null || stadium.getAddress().getCep() == null
+                        || !stadiumRequestDTO.cep().replace("-", "").equals(stadium.getAddress().getCep().replace("-", "")))) {
+            changeAddress(stadium, stadiumRequestDTO.cep());
+            addressChanged = true;
         }
         stadiumRepository.save(stadium);
-        return new StadiumResponseDTO(stadium.getId(), stadium.getName(), stadium.getAddress(), stadium.getActive());
+        if (addressChanged) {
+            scheduleIfPending(stadium);
+        }
+        return new StadiumResponseDTO(stadium);
+    }
+
+    private void changeAddress(Stadium stadium, String cep) {
+        String digits = cep.replace("-", "");
+        if (!asyncAddress) {
+            stadium.setAddress(viaCepService.findByCep(digits));
+            stadium.setAddressStatus(AddressStatus.RESOLVED);
+            return;
+        }
+        // só o CEP até a resolução; o restante do endereço chega pelo StadiumAddressResolver
+        Address pending = new Address();
+        pending.setCep(digits.substring(0, 5) + "-" + digits.substring(5));
+        stadium.setAddress(pending);
+        stadium.setAddressStatus(AddressStatus.PENDING);
+    }
+
+    // save já comitou: a resolução em segundo plano enxerga o estádio
+    private void scheduleIfPending(Stadium stadium) {
+        if (stadium.getAddressStatus() == AddressStatus.PENDING) {
+            stadiumAddressResolver.schedule(stadium.getId(), stadium.getAddress().getCep());
+        }
     }
 
     public void deleteStadium(Long id) {
@@ -74,7 +112,7 @@ public class StadiumService {
     public StadiumResponseDTO findById(Long id) {
         var stadium =  stadiumRepository.findByIdAndActiveTrue(id)
                 .orElseThrow(() -> new NotFoundException("Clube não encontrado ou inativo"));
-        return new StadiumResponseDTO(stadium.getId(), stadium.getName(), stadium.getAddress(), stadium.getActive());
+        return new StadiumResponseDTO(stadium);
     }
 
     public Page<StadiumResponseDTO> searchStadiums(Pageable pageable) {
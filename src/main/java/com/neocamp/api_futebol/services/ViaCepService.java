@@ -1,31 +1,180 @@
 package com.neocamp.api_futebol.services;
 
+import com.neocamp.api_futebol.config.RequestTimings;
 import com.neocamp.api_futebol.entities.Address;
 import com.neocamp.api_futebol.exception.NotFoundException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
 @Service
+@Timed(value = "api.service", histogram = true)
 public class ViaCepService {
 
+    private final OfflineCepResolver offlineCepResolver;
+
     private final RestClient restClient;
 
-    public ViaCepService() {
+    private final CepCache cache;
+
+    private final SingleFlight<String, Address> lookups = new SingleFlight<>();
+
+    // limite de consultas simultâneas das resoluções em lote, somado entre todos os lotes em andamento
+    private final Semaphore bulkPermits;
+
+    private final MeterRegistry meterRegistry;
+
+    public ViaCepService(OfflineCepResolver offlineCepResolver, MeterRegistry meterRegistry,
+                         @Value("${viacep.base-url}") String baseUrl,
+                         @Value("${viacep.connect-timeout}") Duration connectTimeout,
+                         @Value("${viacep.read-timeout}") Duration readTimeout,
+                         @Value("${viacep.cache.max-size}") int cacheMaxSize,
+                         @Value("${viacep.cache.ttl}") Duration cacheTtl,
+                         @Value("${viacep.cache.negative-ttl}") Duration cacheNegativeTtl,
+                         @Value("${viacep.bulk.max-concurrency}") int bulkMaxConcurrency) {
+        // timeouts explícitos: sem eles um ViaCEP lento prende a thread da requisição
+        this.offlineCepResolver = offlineCepResolver;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
         this.restClient = RestClient.builder()
-                .baseUrl("https://viacep.com.br/ws")
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
                 .build();
+        this.cache = new CepCache(cacheMaxSize, cacheTtl, cacheNegativeTtl);
+        this.bulkPermits = new Semaphore(Math.max(1, bulkMaxConcurrency));
+        this.meterRegistry = meterRegistry;
+        registerCacheMetrics();
     }
 
     public Address findByCep(String cep) {
-        Address address = restClient.get()
-                .uri("/{cep}/json/", cep)
-                .retrieve()
-                .body(Address.class);
+        String key = normalize(cep);
+        // base local primeiro; o ViaCEP (com cache) só atende o que não está nela
+        Address local = offlineCepResolver.find(key);
+        if (local != null) {
+            return local;
+        }
+
+        Address cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // pedidos simultâneos do mesmo CEP compartilham uma chamada; cada um recebe sua cópia
+        long start = System.nanoTime();
+        try {
+            return new Address(lookups.execute(key, () -> fetch(key)));
+        } finally {
+            RequestTimings.recordHttp(System.nanoTime() - start);
+        }
+    }
+
+    // Resolve os CEPs distintos em paralelo, uma virtual thread por CEP, respeitando viacep.bulk.max-concurrency.
+    // A chave do mapa é o CEP como veio do chamador (formatos do mesmo CEP dividem a consulta);
+    // falhas de um CEP não interrompem os outros.
+    public Map<String, CepLookup> findAllByCep(Collection<String> ceps) {
+        Map<String, Future<Address>> futures = new HashMap<>();
+        // as consultas rodam em outras threads: para a requisição conta o tempo de parede do lote
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String cep : ceps) {
+                futures.computeIfAbsent(normalize(cep), key -> executor.submit(() -> findByCepWithPermit(key)));
+            }
+        }
+        RequestTimings.recordHttp(System.nanoTime() - start);
+
+        Map<String, CepLookup> lookups = new HashMap<>();
+        futures.forEach((key, future) -> lookups.put(key, future.state() == Future.State.SUCCESS
+                ? new CepLookup(future.resultNow(), null)
+                : new CepLookup(null, future.exceptionNow() instanceof NotFoundException notFound
+                        ? notFound.getMessage() : "Falha ao consultar o CEP")));
+        Map<String, CepLookup> results = new HashMap<>();
+        for (String cep : ceps) {
+            results.put(cep, lookups.get(normalize(cep)));
+        }
+        return results;
+    }
+
+    public record CepLookup(Address address, String error) {}
+
+    // findByCep dentro do limite de viacep.bulk.max-concurrency, dividido entre o lote e a resolução
+    // em segundo plano dos estádios PENDING: juntos, nunca passam desse número de consultas simultâneas
+    public Address findByCepWithPermit(String cep) throws InterruptedException {
+        bulkPermits.acquire();
+        try {
+            return findByCep(cep);
+        } finally {
+            bulkPermits.release();
+        }
+    }
+
+    public CepCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    // Consultas que pegaram carona numa chamada ao ViaCEP já em andamento
+    public long deduplicatedLookups() {
+        return lookups.deduplicated();
+    }
+
+    // Cada chamada real ao ViaCEP vira um viacep.requests{outcome=found|not_found|error}
+    private Address fetch(String key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Address address;
+        try {
+            address = restClient.get()
+                    .uri("/{cep}/json/", key)
+                    .retrieve()
+                    .body(Address.class);
+        } catch (RuntimeException ex) {
+            stop(sample, "error");
+            throw ex;
+        }
 
         if (address == null || address.getCep() == null) {
+            stop(sample, "not_found");
+            cache.putNotFound(key);
             throw new NotFoundException("CEP não encontrado");
         }
 
+        stop(sample, "found");
+        cache.put(key, address);
         return address;
     }
+
+    private void stop(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("viacep.requests")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private void registerCacheMetrics() {
+        FunctionCounter.builder("viacep.cache.hits", cache, c -> c.stats().hits()).register(meterRegistry);
+        FunctionCounter.builder("viacep.cache.misses", cache, c -> c.stats().misses()).register(meterRegistry);
+        FunctionCounter.builder("viacep.cache.evictions", cache, c -> c.stats().evictions()).register(meterRegistry);
+        FunctionCounter.builder("viacep.cache.expirations", cache, c -> c.stats().expirations()).register(meterRegistry);
+        Gauge.builder("viacep.cache.size", cache, c -> c.stats().size()).register(meterRegistry);
+        FunctionCounter.builder("viacep.lookups.deduplicated", lookups, SingleFlight::deduplicated).register(meterRegistry);
+    }
+
+    // Chave do cache: só os 8 dígitos ("12345-678" e "12345678" são o mesmo CEP)
+    private String normalize(String cep) {
+        return cep.replace("-", "").trim();
+    }
 }
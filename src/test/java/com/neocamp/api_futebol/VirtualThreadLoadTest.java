@@ -0,0 +1,206 @@
+package com.neocamp.api_futebol;
+
+import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import com.neocamp.api_futebol.services.MatchImportService;
+import com.neocamp.api_futebol.services.ViaCepStubServer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara o Tomcat em platform threads e em virtual threads com a mesma carga, no perfil de teste (H2)
+// e com o ViaCEP falso em localhost respondendo com atraso fixo.
+//
+//   mvn test -Pload-test
+//   mvn test -Pload-test -Dload.concurrency=400 -Dload.duration=20 -Dload.viacep-delay=100
+//
+// O relatório sai no console e em target/load-test/virtual-threads.txt.
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 400);
+
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("load.duration", 10));
+
+    private static final Duration WARMUP = Duration.ofSeconds(Integer.getInteger("load.warmup", 3));
+
+    private static final int VIACEP_DELAY_MILLIS = Integer.getInteger("load.viacep-delay", 100);
+
+    private static final int CLUBS = 20;
+
+    private static final int MATCHES = 2_000;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    // nomes e CEPs novos a cada POST: sem cache do ViaCEP e sem conflito de nome
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Test
+    void compareExecutionModes() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add("concorrência=%d duração=%ss viacep-delay=%dms".formatted(CONCURRENCY, DURATION.toSeconds(), VIACEP_DELAY_MILLIS));
+        report.add("%-8s %-16s %10s %10s %10s %8s".formatted("modo", "endpoint", "req/s", "p50 ms", "p99 ms", "erros"));
+        for (boolean virtual : new boolean[]{false, true}) {
+            report.addAll(run(virtual));
+        }
+
+        Path file = Path.of("target", "load-test", "virtual-threads.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report);
+        report.forEach(System.out::println);
+    }
+
+    private List<String> run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ViaCepStubServer viaCep = new ViaCepStubServer().withAnyCep("São Paulo", "SP")) {
+            viaCep.setDelayMillis(VIACEP_DELAY_MILLIS);
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiDePartidasDeFutebolApplication.class)
+                    .profiles("test")
+                    // argumentos de linha de comando: precedem o application.properties
+                    .run("--server.port=0",
+                            "--spring.threads.virtual.enabled=" + virtual,
+                            "--spring.datasource.url=jdbc:h2:mem:load_" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                            "--spring.jpa.show-sql=false",
+                            "--viacep.base-url=" + viaCep.baseUrl());
+            try {
+                seed(context);
+                String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                List<String> lines = new ArrayList<>();
+                lines.add(measure(mode, "GET /matches", n -> get(baseUrl + "/matches?page=" + (n % 50))));
+                lines.add(measure(mode, "GET /ranking", n -> get(baseUrl + "/ranking")));
+                lines.add(measure(mode, "POST /stadiums", n -> postStadium(baseUrl, n)));
+                return lines;
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        ClubRepository clubRepository = context.getBean(ClubRepository.class);
+        List<Long> clubs = new ArrayList<>();
+        for (int i = 0; i < CLUBS; i++) {
+            clubs.add(clubRepository.save(new Club("Clube " + i, State.SP, LocalDate.of(1900, 1, 1))).getId());
+        }
+        Long stadium = context.getBean(StadiumRepository.class).save(new Stadium("Estádio Carga")).getId();
+
+        // uma partida a cada 3 dias: nenhuma cai na janela de 48h nem repete estádio no dia
+        LocalDateTime start = LocalDateTime.now().minusDays(MATCHES * 3L + 10);
+        List<MatchesRequestDTO> matches = new ArrayList<>();
+        for (int i = 0; i < MATCHES; i++) {
+            int home = i % CLUBS;
+            int away = (home + 1 + i / CLUBS % (CLUBS - 1)) % CLUBS;
+            matches.add(new MatchesRequestDTO(clubs.get(home), clubs.get(away), stadium,
+                    start.plusDays(i * 3L), i % 4, i % 3));
+        }
+        assertEquals(MATCHES, context.getBean(MatchImportService.class).importMatches(matches).created());
+    }
+
+    private String measure(String mode, String endpoint, LongFunction<Integer> request) throws Exception {
+        load(request, WARMUP);
+        Result result = load(request, DURATION);
+        long[] latencies = result.latencies();
+        Arrays.sort(latencies);
+        return "%-8s %-16s %10.0f %10.1f %10.1f %8d".formatted(mode, endpoint,
+                latencies.length / (double) DURATION.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), result.errors());
+    }
+
+    // CONCURRENCY clientes em laço fechado (envia, espera a resposta, envia de novo) até o prazo
+    private Result load(LongFunction<Integer> request, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.add(executor.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    long errors = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        int status = request.apply(sequence.incrementAndGet());
+                        latencies.add(System.nanoTime() - start);
+                        if (status >= 400) {
+                            errors++;
+                        }
+                    }
+                    return new Result(latencies.stream().mapToLong(Long::longValue).toArray(), errors);
+                }));
+            }
+        }
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<Result> client : clients) {
+            Result result = client.resultNow();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + result.latencies().length);
+            System.arraycopy(result.latencies(), 0, all, offset, result.latencies().length);
+            errors += result.errors();
+        }
+        return new Result(all, errors);
+    }
+
+    private int get(String url) {
+        return send(HttpRequest.newBuilder(URI.create(url)).GET().build());
+    }
+
+    private int postStadium(String baseUrl, long sequence) {
+        long n = 10_000_000 + sequence;
+        String body = "{\"name\": \"Estádio %d\", \"cep\": \"%08d\"}".formatted(n, n);
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/stadiums"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private int send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 599;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 599;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private record Result(long[] latencies, long errors) {}
+}
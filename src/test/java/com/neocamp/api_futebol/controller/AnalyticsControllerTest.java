@@ -0,0 +1,168 @@
+package com.neocamp.api_futebol.controller;
+
+import com.neocamp.api_futebol.config.ServerTimingFilter;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    private Club clubA, clubB, clubC;
+
+    @BeforeEach
+    void setUp() {
+        clubA = clubRepository.save(new Club("Clube A", State.SP, LocalDate.now().minusYears(10)));
+        clubB = clubRepository.save(new Club("Clube B", State.SP, LocalDate.now().minusYears(8)));
+        clubC = clubRepository.save(new Club("Clube C", State.RJ, LocalDate.now().minusYears(6)));
+        Stadium stadium = stadiumRepository.save(new Stadium("Estádio Teste"));
+
+        matchRepository.save(new Match(clubA, clubB, stadium, LocalDateTime.now().minusDays(3), 2, 1));
+        matchRepository.save(new Match(clubB, clubA, stadium, LocalDateTime.now().minusDays(2), 0, 3));
+        matchRepository.save(new Match(clubA, clubC, stadium, LocalDateTime.now().minusDays(1), 1, 1));
+    }
+
+    // a resposta é em stream: a escrita acontece no dispatch assíncrono
+    private ResultActions performStreaming(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult started = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    @Test
+    @DisplayName("Should return the head-to-head matrix of all clubs as JSON")
+    void getHeadToHeadMatrix() throws Exception {
+        performStreaming(get("/analytics/head-to-head-matrix"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.clubs", hasSize(3)))
+                .andExpect(jsonPath("$.clubs[0].id").value(clubA.getId()))
+                .andExpect(jsonPath("$.clubs[2].name").value("Clube C"))
+                .andExpect(jsonPath("$.victories[0]", contains(0, 2, 0)))
+                .andExpect(jsonPath("$.defeats[1]", contains(2, 0, 0)))
+                .andExpect(jsonPath("$.draws[2]", contains(1, 0, 0)))
+                .andExpect(jsonPath("$.goalsFor[0]", contains(0, 5, 1)))
+                .andExpect(jsonPath("$.goalsAgainst[0]", contains(0, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should keep only clubs and matches of the given state")
+    void getHeadToHeadMatrixCase2() throws Exception {
+        performStreaming(get("/analytics/head-to-head-matrix").param("state", "SP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubs", hasSize(2)))
+                .andExpect(jsonPath("$.draws[0]", contains(0, 0)))
+                .andExpect(jsonPath("$.goalsFor[1]", contains(1, 0)));
+    }
+
+    @Test
+    @DisplayName("Should return the matrix in the binary format")
+    void getHeadToHeadMatrixCase3() throws Exception {
+        MvcResult result = performStreaming(get("/analytics/head-to-head-matrix")
+                .param("state", "SP")
+                .param("format", "binary"))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM_VALUE, result.getResponse().getContentType());
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()));
+        assertEquals("H2HM", new String(data.readNBytes(4), StandardCharsets.US_ASCII));
+        assertEquals(1, data.readInt());
+        assertEquals(2, data.readInt());
+        assertEquals(clubA.getId(), data.readLong());
+        assertEquals("Clube A", new String(data.readNBytes(data.readUnsignedShort()), StandardCharsets.UTF_8));
+        assertEquals(clubB.getId(), data.readLong());
+        assertEquals("Clube B", new String(data.readNBytes(data.readUnsignedShort()), StandardCharsets.UTF_8));
+
+        int[][] metrics = new int[5][4];
+        for (int[] metric : metrics) {
+            for (int i = 0; i < metric.length; i++) {
+                metric[i] = data.readInt();
+            }
+        }
+        assertEquals(-1, data.read());
+        // vitórias, empates, derrotas, gols pró, gols contra; A x A, A x B, B x A, B x B
+        assertEquals(2, metrics[0][1]);
+        assertEquals(0, metrics[1][1]);
+        assertEquals(2, metrics[2][2]);
+        assertEquals(5, metrics[3][1]);
+        assertEquals(5, metrics[4][2]);
+    }
+
+    @Test
+    @DisplayName("Should stream the whole matrix behind the Server-Timing filter")
+    void getHeadToHeadMatrixCase5() throws Exception {
+        // o filtro guarda o corpo em buffer: o stream escrito depois do primeiro dispatch tem que sair inteiro
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(new ServerTimingFilter())
+                .build();
+
+        performStreaming(get("/analytics/head-to-head-matrix"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Server-Timing"))
+                .andExpect(jsonPath("$.clubs", hasSize(3)))
+                .andExpect(jsonPath("$.victories[0]", contains(0, 2, 0)));
+
+        MvcResult binary = performStreaming(get("/analytics/head-to-head-matrix").param("format", "binary"))
+                .andExpect(status().isOk())
+                .andReturn();
+        // cabeçalho (12) + 3 clubes (8 + 2 + 7 cada) + 5 matrizes 3 × 3 de int
+        assertEquals(12 + 3 * 17 + 5 * 9 * 4, binary.getResponse().getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should return 400 when format is invalid")
+    void getHeadToHeadMatrixCase4() throws Exception {
+        mockMvc.perform(get("/analytics/head-to-head-matrix").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Formato inválido!"));
+    }
+}
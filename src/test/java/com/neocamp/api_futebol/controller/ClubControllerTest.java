@@ -2,6 +2,8 @@ package com.neocamp.api_futebol.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neocamp.api_futebol.dtos.request.ClubsRequestDTO;
+import com.neocamp.api_futebol.dtos.request.RetrospectBatchRequestDTO;
+import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
 import com.neocamp.api_futebol.entities.Club;
 import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
@@ -9,6 +11,7 @@ import com.neocamp.api_futebol.entities.State;
 import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.repositories.MatchRepository;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import com.neocamp.api_futebol.services.ClubStatsService;
 import com.neocamp.api_futebol.services.MatchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -16,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -23,8 +27,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,10 +39,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
+@Import(SqlStatementCounterConfiguration.class)
 class ClubControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private ClubRepository clubRepository;
@@ -47,6 +57,8 @@ class ClubControllerTest {
     private Club club;
     @Autowired
     private MatchService matchService;
+    @Autowired
+    private ClubStatsService clubStatsService;
 
     @BeforeEach
     void setUp() {
@@ -66,7 +78,10 @@ class ClubControllerTest {
         match.setMatchDateTime(dateTime);
         match.setHomeGoals(homeGoals);
         match.setAwayGoals(awayGoals);
-        return matchRepository.save(match);
+        match = matchRepository.save(match);
+        // partida gravada direto no repositório: recalcula os contadores do retrospecto
+        clubStatsService.rebuild();
+        return match;
     }
 
 
@@ -249,6 +264,7 @@ class ClubControllerTest {
     void getClub() throws Exception {
         mockMvc.perform(get("/clubs/" + club.getId()))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"))
                 .andExpect(jsonPath("$.name").value("Test Club"));
     }
     @Test
@@ -513,4 +529,201 @@ class ClubControllerTest {
         mockMvc.perform(get("/clubs/" + club.getId() + "/opp/" + opp.getId() + "/retrospect?side=invalido") )
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("should keep club stats in sync when matches are created and deleted")
+    void clubStats() throws Exception {
+        club.setCreatedAt(LocalDate.of(1950, 1, 1));
+        Club opp = clubRepository.save(new Club("Clube Adversario", State.RJ, LocalDate.of(1950, 1, 1)));
+        Stadium stadium = createStadium("Estádio");
+        var created = matchService.createMatch(new MatchesRequestDTO(club.getId(), opp.getId(), stadium.getId(),
+                LocalDateTime.of(2020, 1, 1, 16, 0), 2, 1));
+
+        mockMvc.perform(get("/clubs/" + club.getId() + "/retrospect?side=casa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(1))
+                .andExpect(jsonPath("$.victories").value(1))
+                .andExpect(jsonPath("$.goalsFor").value(2))
+                .andExpect(jsonPath("$.goalsAgainst").value(1));
+        mockMvc.perform(get("/clubs/" + club.getId() + "/retrospect?side=fora"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(0));
+        mockMvc.perform(get("/clubs/" + opp.getId() + "/retrospect?side=fora"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.defeats").value(1));
+        mockMvc.perform(get("/clubs/stats/check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubsWithDrift").value(0));
+
+        matchService.deleteMatch(created.id());
+        mockMvc.perform(get("/clubs/" + club.getId() + "/retrospect"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(0));
+        mockMvc.perform(get("/clubs/stats/check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubsChecked").value(2))
+                .andExpect(jsonPath("$.clubsWithDrift").value(0));
+    }
+
+    @Test
+    @DisplayName("should report club stats drift and fix it with rebuild")
+    void clubStatsCase2() throws Exception {
+        Club opp = clubRepository.save(new Club("Clube Adversario", State.RJ, LocalDate.now().minusDays(1)));
+        // gravada direto no repositório: os contadores não sabem dela
+        matchRepository.save(new Match(club, opp, createStadium("Estádio"), LocalDateTime.now(), 3, 0));
+
+        mockMvc.perform(get("/clubs/stats/check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubsChecked").value(2))
+                .andExpect(jsonPath("$.clubsWithDrift").value(2))
+                .andExpect(jsonPath("$.drifts[?(@.clubId == %d && @.field == 'homeGoalsFor')].expected", club.getId()).value(3))
+                .andExpect(jsonPath("$.drifts[?(@.clubId == %d && @.field == 'homeGoalsFor')].actual", club.getId()).value(0));
+
+        mockMvc.perform(post("/clubs/stats/rebuild"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/clubs/stats/check"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubsWithDrift").value(0))
+                .andExpect(jsonPath("$.drifts").isEmpty());
+        mockMvc.perform(get("/clubs/" + club.getId() + "/retrospect"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.victories").value(1));
+    }
+
+    @Test
+    @DisplayName("should refresh the cached head-to-head when a match between the clubs is created")
+    void headToHeadCache() throws Exception {
+        club.setCreatedAt(LocalDate.of(1950, 1, 1));
+        Club opp = clubRepository.save(new Club("Clube Adversario", State.RJ, LocalDate.of(1950, 1, 1)));
+        Stadium stadium = createStadium("Estádio");
+        matchService.createMatch(new MatchesRequestDTO(club.getId(), opp.getId(), stadium.getId(),
+                LocalDateTime.of(2020, 1, 1, 16, 0), 2, 1));
+        mockMvc.perform(get("/clubs/" + opp.getId() + "/opp/" + club.getId() + "/retrospect"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(1))
+                .andExpect(jsonPath("$.defeats").value(1));
+
+        matchService.createMatch(new MatchesRequestDTO(opp.getId(), club.getId(), stadium.getId(),
+                LocalDateTime.of(2020, 1, 5, 16, 0), 0, 0));
+        mockMvc.perform(get("/clubs/" + club.getId() + "/opp/" + opp.getId() + "/retrospect"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(2))
+                .andExpect(jsonPath("$.victories").value(1))
+                .andExpect(jsonPath("$.draws").value(1))
+                .andExpect(jsonPath("$.goalsFor").value(2))
+                .andExpect(jsonPath("$.goalsAgainst").value(1));
+        mockMvc.perform(get("/clubs/" + club.getId() + "/opp/" + opp.getId() + "/retrospect?side=fora"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(1))
+                .andExpect(jsonPath("$.draws").value(1));
+    }
+
+    // Orçamentos de SQL por endpoint: um N+1 estoura o limite e o erro lista os comandos
+
+    @Test
+    @DisplayName("GET /clubs?size=50 should issue at most 2 SQL statements")
+    void sqlBudgetCase1() throws Throwable {
+        for (int i = 0; i < 60; i++) {
+            clubRepository.save(new Club("Clube " + i, State.values()[i % State.values().length], LocalDate.of(1950, 1, 1)));
+        }
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(get("/clubs").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50)));
+    }
+
+    @Test
+    @DisplayName("GET /clubs/{id} should issue at most 1 SQL statement")
+    void sqlBudgetCase2() throws Throwable {
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/clubs/" + club.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /clubs should issue at most 2 SQL statements")
+    void sqlBudgetCase3() throws Throwable {
+        ClubsRequestDTO dto = new ClubsRequestDTO("Novo Clube", State.RJ, LocalDate.now().minusDays(1));
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(post("/clubs")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("Club retrospect should issue 1 SQL statement and opponents retrospect at most 2")
+    void sqlBudgetCase4() throws Throwable {
+        club.setCreatedAt(LocalDate.of(1950, 1, 1));
+        Stadium stadium = createStadium("Pacaembu");
+        for (int i = 0; i < 20; i++) {
+            Club opponent = clubRepository.save(new Club("Rival " + i, State.RJ, LocalDate.of(1950, 1, 1)));
+            createMatch(i % 2 == 0 ? club : opponent, i % 2 == 0 ? opponent : club, stadium,
+                    LocalDateTime.of(2000, 1, 1, 16, 0).plusDays(3L * i), i % 3, i % 2);
+        }
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/clubs/" + club.getId() + "/retrospect"))
+                .andExpect(status().isOk()));
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(get("/clubs/" + club.getId() + "/opp/retrospect"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("One opponent retrospect should issue at most 2 SQL statements and 1 when cached")
+    void sqlBudgetCase5() throws Throwable {
+        Club opp = clubRepository.save(new Club("Rival", State.RJ, LocalDate.of(1950, 1, 1)));
+        Stadium stadium = createStadium("Pacaembu");
+        for (int i = 0; i < 20; i++) {
+            createMatch(i % 2 == 0 ? club : opp, i % 2 == 0 ? opp : club, stadium,
+                    LocalDateTime.of(2000, 1, 1, 16, 0).plusDays(3L * i), i % 3, i % 2);
+        }
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(get("/clubs/" + club.getId() + "/opp/" + opp.getId() + "/retrospect"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(20)));
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/clubs/" + opp.getId() + "/opp/" + club.getId() + "/retrospect?side=casa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matches").value(10)));
+    }
+
+    @Test
+    @DisplayName("should return 200 with the retrospect of each club and an error for unknown ones")
+    void getClubRetrospectives() throws Exception {
+        Club club2 = clubRepository.save(new Club("Clube Adversario", State.RJ, LocalDate.now().minusDays(1)));
+        createMatch(club, club2, createStadium("Estádio"), LocalDateTime.now(), 2, 1);
+        RetrospectBatchRequestDTO dto = new RetrospectBatchRequestDTO(List.of(club.getId(), club2.getId(), 999999L), null);
+
+        mockMvc.perform(post("/clubs/retrospect:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + club.getId() + "'].retrospect.victories").value(1))
+                .andExpect(jsonPath("$['" + club.getId() + "'].retrospect.goalsFor").value(2))
+                .andExpect(jsonPath("$['" + club2.getId() + "'].retrospect.defeats").value(1))
+                .andExpect(jsonPath("$['999999'].retrospect").doesNotExist())
+                .andExpect(jsonPath("$['999999'].error").value("Clube não encontrado!"));
+    }
+
+    @Test
+    @DisplayName("should return 400 when the batch has no clubs or an invalid side")
+    void getClubRetrospectivesCase2() throws Exception {
+        mockMvc.perform(post("/clubs/retrospect:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RetrospectBatchRequestDTO(List.of(), null))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/clubs/retrospect:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RetrospectBatchRequestDTO(List.of(club.getId()), "meio"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Lado inválido!"));
+    }
+
+    @Test
+    @DisplayName("Batch retrospect should issue a single SQL statement for many clubs")
+    void sqlBudgetCase6() throws Throwable {
+        List<Long> clubIds = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            clubIds.add(clubRepository.save(new Club("Clube " + i, State.SP, LocalDate.of(1950, 1, 1))).getId());
+        }
+        String body = objectMapper.writeValueAsString(new RetrospectBatchRequestDTO(clubIds, "fora"));
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(post("/clubs/retrospect:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk()));
+    }
 }
\ No newline at end of file
@@ -15,13 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -30,10 +34,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
+@Import(SqlStatementCounterConfiguration.class)
 class MatchControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private ClubRepository clubRepository;
@@ -373,4 +380,185 @@ class MatchControllerTest {
         mockMvc.perform(get("/matches?stadiumId=9999"))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should walk all matches with the keyset cursor")
+    void getAllAfter() throws Exception {
+        LocalDateTime base = LocalDateTime.now().minusDays(1).withNano(0);
+        Match first = createMatch(club1, club2, stadium, base.minusDays(3), 1, 0);
+        Match second = createMatch(club2, club1, stadium, base.minusDays(2), 0, 0);
+        Match third = createMatch(club1, club2, stadium, base, 3, 0);
+
+        String response = mockMvc.perform(get("/matches?after=&size=2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.content[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(response).get("nextCursor").asText();
+
+        mockMvc.perform(get("/matches").param("after", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.content[0].result").value("3 x 0"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("should apply the filters in keyset mode")
+    void getAllAfterCase2() throws Exception {
+        createMatch(club1, club2, stadium, LocalDateTime.now().minusDays(3), 1, 0);
+        Match rout = createMatch(club2, club1, stadium, LocalDateTime.now().minusDays(1), 0, 4);
+
+        mockMvc.perform(get("/matches?after=&routs=true&side=fora&clubId=" + club1.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(rout.getId()));
+    }
+
+    @Test
+    @DisplayName("should return 400 for an invalid cursor")
+    void getAllAfterCase3() throws Exception {
+        mockMvc.perform(get("/matches?after=not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("should import matches in bulk with per-row results")
+    void importMatches() throws Exception {
+        Club club3 = clubRepository.save(new Club("Botafogo", State.RJ, java.time.LocalDate.now().minusDays(10)));
+        Club club4 = clubRepository.save(new Club("Fluminense", State.RJ, java.time.LocalDate.now().minusDays(10)));
+        Stadium stadium2 = stadiumRepository.save(new Stadium("Nilton Santos"));
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        createMatch(club3, club4, stadium2, base.minusDays(2), 1, 1);
+
+        List<MatchesRequestDTO> matches = List.of(
+                new MatchesRequestDTO(club1.getId(), club2.getId(), stadium.getId(), base.minusDays(3), 2, 1),
+                new MatchesRequestDTO(club2.getId(), club1.getId(), stadium2.getId(), base.minusDays(3).plusHours(1), 0, 0),
+                new MatchesRequestDTO(club1.getId(), 9999L, stadium.getId(), base.minusDays(1), 1, 0),
+                new MatchesRequestDTO(club3.getId(), club4.getId(), stadium.getId(), base.minusDays(1), -1, 0),
+                new MatchesRequestDTO(club3.getId(), club4.getId(), stadium.getId(), base.minusDays(2).plusHours(1), 1, 0));
+
+        mockMvc.perform(post("/matches/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(matches)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").isNumber())
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].message").value("Clubes possuem partidas próximas!"))
+                .andExpect(jsonPath("$.results[2].message").value("Clube não encontrado!"))
+                .andExpect(jsonPath("$.results[3].message").value("homeGoals: O saldo de gols não pode ser negativo!"))
+                .andExpect(jsonPath("$.results[4].message").value("Clubes possuem partidas próximas!"));
+
+        assertEquals(2, matchRepository.count());
+    }
+
+    @Test
+    @DisplayName("should import matches across several JDBC batches")
+    void importMatchesCase2() throws Exception {
+        Club home = clubRepository.save(new Club("Santos", State.SP, java.time.LocalDate.of(1950, 1, 1)));
+        Club away = clubRepository.save(new Club("Palmeiras", State.SP, java.time.LocalDate.of(1950, 1, 1)));
+        List<MatchesRequestDTO> matches = new java.util.ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            matches.add(new MatchesRequestDTO(home.getId(), away.getId(), stadium.getId(),
+                    LocalDateTime.of(2000, 1, 1, 16, 0).plusDays(3L * i), i % 4, i % 3));
+        }
+
+        mockMvc.perform(post("/matches/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(matches)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2500))
+                .andExpect(jsonPath("$.rejected").value(0));
+
+        assertEquals(2500, matchRepository.count());
+        assertEquals(2500, matchRepository.findWithFilters(home.getId(), null, null, null, PageRequest.of(0, 1)).getTotalElements());
+    }
+
+    @Test
+    @DisplayName("should return 400 when the bulk import is empty")
+    void importMatchesCase3() throws Exception {
+        mockMvc.perform(post("/matches/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Orçamentos de SQL: um N+1 nas associações lazy de Match estoura o limite e o erro lista os comandos
+
+    private List<Match> createMatches(int count) {
+        List<Club> clubs = new java.util.ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            clubs.add(clubRepository.save(new Club("Clube " + i, State.SP, java.time.LocalDate.of(1950, 1, 1))));
+        }
+        List<Stadium> stadiums = List.of(stadium, stadiumRepository.save(new Stadium("Morumbi")),
+                stadiumRepository.save(new Stadium("Mineirão")));
+        List<Match> matches = new java.util.ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            matches.add(createMatch(clubs.get(i % 6), clubs.get((i + 1) % 6), stadiums.get(i % 3),
+                    LocalDateTime.of(2000, 1, 1, 16, 0).plusDays(3L * i), i % 4, i % 3));
+        }
+        return matches;
+    }
+
+    @Test
+    @DisplayName("GET /matches?size=50 should issue at most 2 SQL statements")
+    void sqlBudgetCase1() throws Throwable {
+        createMatches(60);
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(get("/matches").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50)));
+    }
+
+    @Test
+    @DisplayName("GET /matches?after=&size=50 should issue at most 1 SQL statement")
+    void sqlBudgetCase2() throws Throwable {
+        createMatches(60);
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/matches").param("after", "").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50)));
+    }
+
+    @Test
+    @DisplayName("GET /matches/{id} should issue at most 1 SQL statement")
+    void sqlBudgetCase3() throws Throwable {
+        Match match = createMatches(1).get(0);
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/matches/" + match.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /matches should issue at most 6 SQL statements")
+    void sqlBudgetCase4() throws Throwable {
+        MatchesRequestDTO dto = new MatchesRequestDTO(club1.getId(), club2.getId(), stadium.getId(), LocalDateTime.now(), 2, 1);
+        sqlStatementCounter.assertAtMost(6, () -> mockMvc.perform(post("/matches")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated()));
+    }
+
+    @Test
+    @DisplayName("PUT /matches/{id} should issue at most 7 SQL statements")
+    void sqlBudgetCase5() throws Throwable {
+        Match match = createMatch(club1, club2, stadium, LocalDateTime.now().minusHours(1), 1, 1);
+        MatchesRequestDTO dto = new MatchesRequestDTO(club1.getId(), club2.getId(), stadium.getId(), LocalDateTime.now().minusHours(2), 3, 0);
+        sqlStatementCounter.assertAtMost(7, () -> mockMvc.perform(put("/matches/" + match.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("DELETE /matches/{id} should issue at most 4 SQL statements")
+    void sqlBudgetCase6() throws Throwable {
+        Match match = createMatch(club1, club2, stadium, LocalDateTime.now().minusHours(1), 1, 1);
+        sqlStatementCounter.assertAtMost(4, () -> mockMvc.perform(delete("/matches/" + match.getId()))
+                .andExpect(status().isNoContent()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.neocamp.api_futebol.controller;
+
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Test
+    @DisplayName("should expose service timers with ranking filter and retrospect side tags")
+    void prometheus() throws Exception {
+        Club club = clubRepository.save(new Club("Clube", State.SP, LocalDate.of(1900, 1, 1)));
+        mockMvc.perform(get("/ranking").param("filter", "gols")).andExpect(status().isOk());
+        mockMvc.perform(get("/ranking").param("filter", "qualquer coisa")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/clubs/{id}/retrospect", club.getId()).param("side", "casa")).andExpect(status().isOk());
+        mockMvc.perform(get("/clubs/{id}/retrospect", club.getId())).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("api_service_ranking_seconds_bucket{")))
+                .andExpect(content().string(containsString("api_service_retrospect_seconds_bucket{")))
+                .andExpect(content().string(containsString("filter=\"gols\"")))
+                .andExpect(content().string(containsString("filter=\"invalido\"")))
+                .andExpect(content().string(containsString("side=\"casa\"")))
+                .andExpect(content().string(containsString("side=\"todos\"")))
+                .andExpect(content().string(containsString("method=\"rankClubsByFilter\"")))
+                .andExpect(content().string(containsString("method=\"getClubRetrospective\"")));
+    }
+
+    @Test
+    @DisplayName("should time every service call and count validation rejections by rule")
+    void prometheusCase2() throws Exception {
+        mockMvc.perform(post("/matches")
+                        .contentType("application/json")
+                        .content("""
+                                {"homeClubId": 999, "awayClubId": 998, "stadiumId": 1,
+                                 "matchDateTime": "01-01-2020T15:00:00", "homeGoals": 0, "awayGoals": 0}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("api_match_validation_rejections_total{rule=\"club_not_found\"}")))
+                .andExpect(content().string(containsString("method=\"createMatch\"")))
+                .andExpect(content().string(containsString("method=\"findClubsOrThrow\"")));
+    }
+}
@@ -8,6 +8,7 @@ import com.neocamp.api_futebol.entities.State;
 import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.repositories.MatchRepository;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import com.neocamp.api_futebol.services.ClubStatsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 @SpringBootTest
@@ -39,6 +41,8 @@ class RankingControllerTest {
     private MatchRepository matchRepository;
     @Autowired
     private StadiumRepository stadiumRepository;
+    @Autowired
+    private ClubStatsService clubStatsService;
 
     private Club clubA, clubB;
 
@@ -64,6 +68,8 @@ class RankingControllerTest {
         matchRepository.save(match1);
         matchRepository.save(match2);
         matchRepository.save(match3);
+        // partidas gravadas direto no repositório: recalcula a classificação
+        clubStatsService.rebuild();
     }
 
 
@@ -159,4 +165,83 @@ class RankingControllerTest {
         mockMvc.perform(get("/ranking?filter=invalido"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should update the ranking when a match is created")
+    void getRankingAfterCreateMatch() throws Exception {
+        String body = """
+                {"homeClubId": %d, "awayClubId": %d, "stadiumId": %d,
+                 "matchDateTime": "%s", "homeGoals": 4, "awayGoals": 0}
+                """.formatted(clubB.getId(), clubA.getId(), stadium.getId(),
+                java.time.LocalDateTime.now().minusDays(10)
+                        .format(java.time.format.DateTimeFormatter.ofPattern("dd-MM-yyyy'T'HH:mm:ss")));
+        mockMvc.perform(post("/matches")
+                        .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/ranking?filter=gols"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].clubId").value(clubB.getId()))
+                .andExpect(jsonPath("$.[0].goals").value(6))
+                .andExpect(jsonPath("$.[0].points").value(6))
+                .andExpect(jsonPath("$.[0].matches").value(4));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the ranking with the club stats")
+    void rebuildRanking() throws Exception {
+        matchRepository.save(new Match(clubB, clubA, stadium, java.time.LocalDateTime.now().minusDays(20), 1, 1));
+
+        mockMvc.perform(post("/clubs/stats/rebuild"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/ranking?filter=partidas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].matches").value(4))
+                .andExpect(jsonPath("$.[0].points").value(7))
+                .andExpect(jsonPath("$.[1].points").value(4));
+    }
+
+    @Test
+    @DisplayName("Should return stream ranking ordered by points")
+    void getRankingStream() throws Exception {
+        mockMvc.perform(get("/ranking/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].clubId").value(clubA.getId()))
+                .andExpect(jsonPath("$.[0].points").value(6))
+                .andExpect(jsonPath("$.[0].goals").value(5))
+                .andExpect(jsonPath("$.[0].victories").value(2))
+                .andExpect(jsonPath("$.[0].matches").value(3))
+                .andExpect(jsonPath("$.[1].clubId").value(clubB.getId()))
+                .andExpect(jsonPath("$.[1].points").value(3))
+                .andExpect(jsonPath("$.[1].goals").value(2))
+                .andExpect(jsonPath("$.[1].victories").value(1))
+                .andExpect(jsonPath("$.[1].matches").value(3));
+    }
+
+    @Test
+    @DisplayName("Should return bad request when stream filter is invalid")
+    void getRankingStreamCase2() throws Exception {
+        mockMvc.perform(get("/ranking/stream?filter=invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should paginate the ranking with stable tie-breaking by club id")
+    void getRankingPaged() throws Exception {
+        mockMvc.perform(get("/ranking?filter=partidas&page=0&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].clubId").value(clubA.getId()));
+
+        mockMvc.perform(get("/ranking?filter=partidas&page=1&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$.[0].clubId").value(clubB.getId()));
+
+        mockMvc.perform(get("/ranking?filter=partidas&page=2&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+}
@@ -0,0 +1,116 @@
+package com.neocamp.api_futebol.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.State;
+import com.neocamp.api_futebol.repositories.ClubRepository;
+import com.neocamp.api_futebol.services.ViaCepStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "server-timing.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Transactional
+@ExtendWith(OutputCaptureExtension.class)
+class ServerTimingFilterTest {
+
+    private static final Pattern SERVER_TIMING = Pattern.compile(
+            "sql;dur=([\\d.]+);desc=\"(\\d+) statements\", http;dur=([\\d.]+), app;dur=([\\d.]+), " +
+            "serialization;dur=([\\d.]+), total;dur=([\\d.]+)");
+
+    private static final ViaCepStubServer viaCep = new ViaCepStubServer()
+            .withAddress("12345678", "Rua Teste", "São Paulo", "SP");
+
+    @DynamicPropertySource
+    static void viaCepProperties(DynamicPropertyRegistry registry) {
+        registry.add("viacep.base-url", viaCep::baseUrl);
+    }
+
+    @AfterAll
+    static void stopViaCep() {
+        viaCep.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Test
+    @DisplayName("should report SQL statements and timings in the Server-Timing header")
+    void serverTimingCase1() throws Exception {
+        Club club = clubRepository.saveAndFlush(new Club("Santos", State.SP, LocalDate.of(1912, 4, 14)));
+
+        String header = mockMvc.perform(get("/clubs/" + club.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        Matcher timing = parse(header);
+        assertEquals(1, Integer.parseInt(timing.group(2)));
+        assertEquals(0.0, Double.parseDouble(timing.group(3)));
+        assertTrue(Double.parseDouble(timing.group(6)) >= Double.parseDouble(timing.group(1)));
+    }
+
+    @Test
+    @DisplayName("should report the time spent waiting on ViaCEP as http")
+    void serverTimingCase2() throws Exception {
+        viaCep.setDelayMillis(50);
+        try {
+            StadiumRequestDTO dto = new StadiumRequestDTO("Vila Belmiro", "12345-678");
+            String header = mockMvc.perform(post("/stadiums")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getHeader("Server-Timing");
+
+            Matcher timing = parse(header);
+            assertTrue(Double.parseDouble(timing.group(3)) >= 50, header);
+            assertTrue(Integer.parseInt(timing.group(2)) >= 2, header);
+        } finally {
+            viaCep.setDelayMillis(0);
+        }
+    }
+
+    @Test
+    @DisplayName("should write a structured access log line per request")
+    void serverTimingCase3(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/clubs/999999"))
+                .andExpect(status().isNotFound());
+
+        assertTrue(Pattern.compile("method=GET path=/clubs/999999 status=404 sql_count=1 sql_ms=[\\d.]+ http_ms=0.00 "
+                + "app_ms=[\\d.]+ serialization_ms=[\\d.]+ total_ms=[\\d.]+").matcher(output.getOut()).find(), output.getOut());
+    }
+
+    private static Matcher parse(String header) {
+        assertNotNull(header);
+        Matcher matcher = SERVER_TIMING.matcher(header);
+        assertTrue(matcher.matches(), header);
+        return matcher;
+    }
+}
@@ -0,0 +1,94 @@
+package com.neocamp.api_futebol.controller;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Conta e cronometra os comandos SQL que chegam ao DataSource durante um trecho do teste (uma requisição MockMvc).
+// Só entra o que roda na thread do teste: a MockMvc atende na mesma thread, o trabalho em segundo plano fica de fora.
+// Um lote JDBC conta como um comando (uma ida ao banco).
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    private final ThreadLocal<List<Statement>> recording = new ThreadLocal<>();
+
+    public SqlStatementCounter(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public Recording record(Executable action) throws Throwable {
+        // o que o setUp salvou vai ao banco antes e sai do contexto de persistência: a requisição não pode
+        // aproveitar entidades já carregadas pelo teste, senão um N+1 passaria despercebido
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject());
+        if (entityManager != null) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        List<Statement> statements = new ArrayList<>();
+        recording.set(statements);
+        try {
+            action.execute();
+            // com o teste em transação o commit não acontece: o flush mede as escritas que ele faria
+            if (entityManager != null) {
+                entityManager.flush();
+            }
+        } finally {
+            recording.remove();
+        }
+        return new Recording(List.copyOf(statements));
+    }
+
+    public Recording assertAtMost(int budget, Executable action) throws Throwable {
+        Recording result = record(action);
+        if (result.count() > budget) {
+            throw new AssertionError("Esperados no máximo " + budget + " comandos SQL, executados "
+                    + result.count() + ":\n" + result.describe());
+        }
+        return result;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<Statement> statements = recording.get();
+        if (statements != null) {
+            String sql = queryInfoList.stream()
+                    .map(query -> query.getQuery().strip().replaceAll("\\s+", " "))
+                    .distinct()
+                    .collect(Collectors.joining("; "));
+            statements.add(new Statement(sql, execInfo.isBatch() ? execInfo.getBatchSize() : 1, execInfo.getElapsedTime()));
+        }
+    }
+
+    public record Statement(String sql, int batchSize, long elapsedMillis) {}
+
+    public record Recording(List<Statement> statements) {
+
+        public int count() {
+            return statements.size();
+        }
+
+        public long elapsedMillis() {
+            return statements.stream().mapToLong(Statement::elapsedMillis).sum();
+        }
+
+        public String describe() {
+            return statements.stream()
+                    .map(s -> "  [" + s.elapsedMillis() + " ms" + (s.batchSize() > 1 ? ", lote de " + s.batchSize() : "") + "] " + s.sql())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.neocamp.api_futebol.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// @Import nos testes que medem SQL: embrulha o DataSource num proxy que avisa o SqlStatementCounter
+@TestConfiguration
+public class SqlStatementCounterConfiguration {
+
+    // static e sem dependências diretas: o contador precisa existir antes do DataSource
+    @Bean
+    static SqlStatementCounter sqlStatementCounter(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return new SqlStatementCounter(entityManagerFactory);
+    }
+
+    @Bean
+    static BeanPostProcessor sqlStatementCounterDataSourceProxy(ObjectProvider<SqlStatementCounter> counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(counter.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.neocamp.api_futebol.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import com.neocamp.api_futebol.services.ViaCepStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Sem @Transactional: a resolução em segundo plano só enxerga o estádio depois do commit
+@SpringBootTest(properties = {"stadium.address.async=true", "stadium.address.initial-backoff=10ms"})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class StadiumAsyncAddressControllerTest {
+
+    private static final ViaCepStubServer viaCep = new ViaCepStubServer()
+            .withAddress("12345678", "Rua Teste", "São Paulo", "SP")
+            .withAddress("87654321", "Rua Nova", "Campinas", "SP");
+
+    @DynamicPropertySource
+    static void viaCepProperties(DynamicPropertyRegistry registry) {
+        registry.add("viacep.base-url", viaCep::baseUrl);
+    }
+
+    @AfterAll
+    static void stopViaCep() {
+        viaCep.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    @AfterEach
+    void cleanUp() {
+        viaCep.setDelayMillis(0);
+        stadiumRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("should accept the stadium and resolve the address in background")
+    void createStadium() throws Exception {
+        viaCep.setDelayMillis(200);
+        String body = mockMvc.perform(post("/stadiums")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StadiumRequestDTO("Estádio", "12345678"))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.addressStatus").value("PENDING"))
+                .andExpect(jsonPath("$.address.cep").value("12345-678"))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        JsonNode stadium = awaitAddress(id);
+        assertEquals("RESOLVED", stadium.get("addressStatus").asText());
+        assertEquals("São Paulo", stadium.get("address").get("localidade").asText());
+    }
+
+    @Test
+    @DisplayName("should mark the address as failed when the CEP does not exist")
+    void createStadiumCase2() throws Exception {
+        String body = mockMvc.perform(post("/stadiums")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StadiumRequestDTO("Estádio", "00000000"))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        assertEquals("FAILED", awaitAddress(id).get("addressStatus").asText());
+    }
+
+    @Test
+    @DisplayName("should accept a CEP change and resolve the new address")
+    void updateStadium() throws Exception {
+        String body = mockMvc.perform(post("/stadiums")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StadiumRequestDTO("Estádio", "12345678"))))
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+        awaitAddress(id);
+
+        mockMvc.perform(put("/stadiums/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"cep\": \"87654-321\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.addressStatus").value("PENDING"));
+
+        JsonNode stadium = awaitAddress(id);
+        assertEquals("RESOLVED", stadium.get("addressStatus").asText());
+        assertEquals("Campinas", stadium.get("address").get("localidade").asText());
+    }
+
+    private JsonNode awaitAddress(long id) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            String body = mockMvc.perform(get("/stadiums/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode stadium = objectMapper.readTree(body);
+            if (!"PENDING".equals(stadium.get("addressStatus").asText()) || System.currentTimeMillis() > deadline) {
+                return stadium;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
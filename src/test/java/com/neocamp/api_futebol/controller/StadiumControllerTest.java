@@ -5,17 +5,24 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.neocamp.api_futebol.dtos.request.StadiumRequestDTO;
 import com.neocamp.api_futebol.entities.Stadium;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import com.neocamp.api_futebol.services.ViaCepStubServer;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,11 +30,27 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
 @Transactional
+@Import(SqlStatementCounterConfiguration.class)
 class StadiumControllerTest {
 
+    private static final ViaCepStubServer viaCep = new ViaCepStubServer()
+            .withAddress("12345678", "Rua Teste", "São Paulo", "SP");
+
+    @DynamicPropertySource
+    static void viaCepProperties(DynamicPropertyRegistry registry) {
+        registry.add("viacep.base-url", viaCep::baseUrl);
+    }
+
+    @AfterAll
+    static void stopViaCep() {
+        viaCep.close();
+    }
+
     @Autowired
     private MockMvc mockMvc;
     @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private StadiumRepository stadiumRepository;
@@ -43,6 +66,7 @@ class StadiumControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").isNumber())
                 .andExpect(jsonPath("$.name").value("Estádio"))
+                .andExpect(jsonPath("$.addressStatus").value("RESOLVED"))
                 .andExpect(jsonPath("$.active").value(true));
     }
     @Test
@@ -180,4 +204,76 @@ class StadiumControllerTest {
                 .andExpect(jsonPath("$.content[1].active").value(stadium2.getActive()));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("should import stadiums in bulk reporting each row")
+    void importStadiums() throws Exception {
+        stadiumRepository.save(new Stadium("Maracanã"));
+        List<StadiumRequestDTO> stadiums = List.of(
+                new StadiumRequestDTO("Estádio A", "12345-678"),
+                new StadiumRequestDTO("Estádio B", "12345678"),
+                new StadiumRequestDTO("estádio a", "12345678"),
+                new StadiumRequestDTO("MARACANÃ", "12345678"),
+                new StadiumRequestDTO("Estádio C", "00000000"),
+                new StadiumRequestDTO("Estádio D", "123"));
+
+        mockMvc.perform(post("/stadiums/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(stadiums)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(4))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").isNumber())
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[2].message").value("Estádio ja existe!"))
+                .andExpect(jsonPath("$.results[3].message").value("Estádio ja existe!"))
+                .andExpect(jsonPath("$.results[4].message").value("CEP não encontrado"))
+                .andExpect(jsonPath("$.results[5].message").value("cep: CEP deve estar no formato 99999-999 ou 99999999"));
+
+        assertEquals(1, viaCep.calls("00000000"));
+        List<Stadium> saved = stadiumRepository.findByAddressCep("12345-678");
+        assertEquals(2, saved.size());
+        assertEquals("São Paulo", saved.get(0).getAddress().getLocalidade());
+    }
+
+    @Test
+    @DisplayName("should return 400 when the bulk import is empty")
+    void importStadiumsCase2() throws Exception {
+        mockMvc.perform(post("/stadiums/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Orçamentos de SQL por endpoint: um N+1 estoura o limite e o erro lista os comandos
+
+    @Test
+    @DisplayName("GET /stadiums?size=50 should issue at most 2 SQL statements")
+    void sqlBudgetCase1() throws Throwable {
+        for (int i = 0; i < 60; i++) {
+            stadiumRepository.save(new Stadium("Estádio " + i));
+        }
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(get("/stadiums").param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(50)));
+    }
+
+    @Test
+    @DisplayName("GET /stadiums/{id} should issue at most 1 SQL statement")
+    void sqlBudgetCase2() throws Throwable {
+        Stadium stadium = stadiumRepository.save(new Stadium("Estádio"));
+        sqlStatementCounter.assertAtMost(1, () -> mockMvc.perform(get("/stadiums/" + stadium.getId()))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("POST /stadiums should issue at most 2 SQL statements")
+    void sqlBudgetCase3() throws Throwable {
+        StadiumRequestDTO dto = new StadiumRequestDTO("Estádio Novo", "12345-678");
+        sqlStatementCounter.assertAtMost(2, () -> mockMvc.perform(post("/stadiums")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated()));
+    }
+}
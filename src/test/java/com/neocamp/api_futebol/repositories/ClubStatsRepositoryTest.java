@@ -0,0 +1,148 @@
+package com.neocamp.api_futebol.repositories;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.ClubStats;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.entities.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+// o upsert é SQL do MySQL: usa o H2 do perfil de teste (MODE=MySQL), não o banco embutido padrão
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ClubStatsRepositoryTest {
+    @Autowired
+    private ClubStatsRepository clubStatsRepository;
+    @Autowired
+    private ClubRepository clubRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Club club;
+    private Club opp;
+
+    // 3 partidas em casa (2V 1D, 5x3) e 3 fora (1V 1E 1D, 3x4) para o clube
+    private void createMatches() {
+        club = clubRepository.save(new Club("Flamengo", State.RJ, LocalDate.of(1950, 1, 1)));
+        opp = clubRepository.save(new Club("Vasco", State.RJ, LocalDate.of(1950, 1, 1)));
+        Stadium stadium = stadiumRepository.save(new Stadium("Maracana"));
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 16, 0);
+        matchRepository.save(new Match(club, opp, stadium, start, 3, 1));
+        matchRepository.save(new Match(club, opp, stadium, start.plusDays(3), 2, 1));
+        matchRepository.save(new Match(club, opp, stadium, start.plusDays(6), 0, 1));
+        matchRepository.save(new Match(opp, club, stadium, start.plusDays(9), 1, 2));
+        matchRepository.save(new Match(opp, club, stadium, start.plusDays(12), 1, 1));
+        matchRepository.save(new Match(opp, club, stadium, start.plusDays(15), 2, 0));
+    }
+
+    @Test
+    @DisplayName("should create the stats row on the club first match and add later deltas")
+    void applyDelta() {
+        clubStatsRepository.applyDelta(1L, 1L, 1L, 0L, 0L, 3L, 1L, 0L, 0L, 0L, 0L, 0L, 0L);
+        clubStatsRepository.applyDelta(1L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 1L, 0L, 2L, 2L);
+        clubStatsRepository.applyDelta(1L, -1L, -1L, 0L, 0L, -3L, -1L, 0L, 0L, 0L, 0L, 0L, 0L);
+        entityManager.clear();
+
+        ClubStats stats = clubStatsRepository.findById(1L).orElseThrow();
+        assertEquals(0L, stats.getHomeMatches());
+        assertEquals(0L, stats.getHomeGoalsFor());
+        assertEquals(1L, stats.getAwayMatches());
+        assertEquals(1L, stats.getAwayDraws());
+        assertEquals(2L, stats.getAwayGoalsFor());
+        assertEquals(2L, stats.getAwayGoalsAgainst());
+    }
+
+    @Test
+    @DisplayName("should rebuild the counters from matches and read the retrospect by side")
+    void rebuildFromMatches() {
+        createMatches();
+
+        assertEquals(2, clubStatsRepository.rebuildFromMatches());
+        entityManager.clear();
+
+        assertEquals(new MatchesRetrospectDTO("Flamengo", 3, 2, 0, 1, 5, 3),
+                clubStatsRepository.findRetrospective(club.getId(), true, false).orElseThrow());
+        assertEquals(new MatchesRetrospectDTO("Flamengo", 3, 1, 1, 1, 3, 4),
+                clubStatsRepository.findRetrospective(club.getId(), false, true).orElseThrow());
+        assertEquals(new MatchesRetrospectDTO("Flamengo", 6, 3, 1, 2, 8, 7),
+                clubStatsRepository.findRetrospective(club.getId(), true, true).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("should return zeros for a club without stats row and nothing for a missing club")
+    void findRetrospective() {
+        Club club = clubRepository.save(new Club("Flamengo", State.RJ, LocalDate.of(1950, 1, 1)));
+
+        assertEquals(new MatchesRetrospectDTO("Flamengo", 0, 0, 0, 0, 0, 0),
+                clubStatsRepository.findRetrospective(club.getId(), true, true).orElseThrow());
+        assertTrue(clubStatsRepository.findRetrospective(club.getId() + 999, true, true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("should return the retrospect of each existing club of the batch")
+    void findRetrospectives() {
+        createMatches();
+        clubStatsRepository.rebuildFromMatches();
+
+        List<ClubRetrospectDTO> rows = clubStatsRepository.findRetrospectives(
+                List.of(club.getId(), opp.getId(), opp.getId() + 999), false, true);
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.contains(new ClubRetrospectDTO(club.getId(), "Flamengo", 3, 1, 1, 1, 3, 4)));
+        assertTrue(rows.contains(new ClubRetrospectDTO(opp.getId(), "Vasco", 3, 1, 0, 2, 3, 5)));
+    }
+
+    @Test
+    @DisplayName("should rank the clubs by the sum of both sides")
+    void findRanking() {
+        createMatches();
+        clubStatsRepository.rebuildFromMatches();
+
+        // Flamengo 3V 1E (10 pontos, 8 gols); Vasco 2V 1E (7 pontos, 7 gols); 6 partidas cada
+        ClubRankingDTO first = new ClubRankingDTO(club.getId(), "Flamengo", 10L, 8L, 3L, 6L);
+        ClubRankingDTO second = new ClubRankingDTO(opp.getId(), "Vasco", 7L, 7L, 2L, 6L);
+        List<ClubRankingDTO> byPoints = clubStatsRepository.findRankingByPoints(PageRequest.of(0, 20));
+        List<ClubRankingDTO> byGoals = clubStatsRepository.findRankingByGoals(PageRequest.of(0, 20));
+
+        assertTrue(byPoints.indexOf(first) >= 0 && byPoints.indexOf(first) < byPoints.indexOf(second));
+        assertTrue(byGoals.indexOf(first) >= 0 && byGoals.indexOf(first) < byGoals.indexOf(second));
+        assertTrue(clubStatsRepository.findRankingByMatches(Pageable.unpaged()).containsAll(List.of(first, second)));
+    }
+
+    @Test
+    @DisplayName("should compute the totals of each side from matches")
+    void computeStatsFromMatches() {
+        createMatches();
+
+        List<ClubSideStatsDTO> home = clubStatsRepository.computeHomeStatsFromMatches();
+        List<ClubSideStatsDTO> away = clubStatsRepository.computeAwayStatsFromMatches();
+
+        assertTrue(home.contains(new ClubSideStatsDTO(club.getId(), 3L, 2L, 0L, 1L, 5L, 3L)));
+        assertTrue(home.contains(new ClubSideStatsDTO(opp.getId(), 3L, 1L, 1L, 1L, 4L, 3L)));
+        assertTrue(away.contains(new ClubSideStatsDTO(club.getId(), 3L, 1L, 1L, 1L, 3L, 4L)));
+        assertTrue(away.contains(new ClubSideStatsDTO(opp.getId(), 3L, 1L, 0L, 2L, 3L, 5L)));
+    }
+}
@@ -1,20 +1,26 @@
 package com.neocamp.api_futebol.repositories;
 
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
 import com.neocamp.api_futebol.entities.Club;
 import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
 import com.neocamp.api_futebol.entities.State;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +33,8 @@ class MatchRepositoryTest {
     private ClubRepository clubRepository;
     @Autowired
     private StadiumRepository stadiumRepository;
+    @Autowired
+    private TestEntityManager entityManager;
 
     private Club createClub(String name, State state) {
         Club club = new Club(name, state, java.time.LocalDate.now());
@@ -151,28 +159,130 @@ class MatchRepositoryTest {
     }
 
     @Test
-    @DisplayName("should find matches near date for club")
-    void findMatchesNearDateForClub() {
+    @DisplayName("should fetch clubs and stadium together with the filtered page")
+    void findWithFilters_fetchesAssociations() {
+        Club home = createClub("Flamengo", State.RJ);
+        Club away = createClub("Vasco", State.RJ);
+        Stadium stadium = createStadium("Maracana");
+        createMatch(home, away, stadium, LocalDateTime.now().minusDays(3), 1, 1);
+        createMatch(away, home, stadium, LocalDateTime.now(), 2, 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<Match> result = matchRepository.findWithFilters(null, null, null, null, PageRequest.of(0, 1));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(1, result.getContent().size());
+        Match match = result.getContent().get(0);
+        assertTrue(Hibernate.isInitialized(match.getHomeClub()));
+        assertTrue(Hibernate.isInitialized(match.getAwayClub()));
+        assertTrue(Hibernate.isInitialized(match.getStadium()));
+    }
+
+    @Test
+    @DisplayName("should fetch clubs and stadium when finding a match by id")
+    void findById_fetchesAssociations() {
+        Club home = createClub("Flamengo", State.RJ);
+        Club away = createClub("Vasco", State.RJ);
+        Stadium stadium = createStadium("Maracana");
+        Match saved = createMatch(home, away, stadium, LocalDateTime.now(), 1, 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        Match match = matchRepository.findById(saved.getId()).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(match.getHomeClub()));
+        assertTrue(Hibernate.isInitialized(match.getAwayClub()));
+        assertTrue(Hibernate.isInitialized(match.getStadium()));
+    }
+
+    @Test
+    @DisplayName("should report each violated schedule rule as a bit")
+    void findScheduleConflicts() {
         Club home = createClub("Flamengo", State.RJ);
         Club away = createClub("Vasco", State.RJ);
+        Club other = createClub("Botafogo", State.RJ);
         Stadium stadium = createStadium("Maracana");
+        Stadium otherStadium = createStadium("Nilton Santos");
         LocalDateTime date = LocalDateTime.of(2025, 7, 15, 16, 0);
-        createMatch(home, away, stadium, date.minusHours(24), 1, 1);
-        createMatch(home, away, stadium, date.plusHours(24), 2, 2);
-        List<Match> result = matchRepository.findMatchesNearDateForClub(home.getId(), date);
-        assertEquals(2, result.size());
+        Match near = createMatch(other, away, otherStadium, date.minusHours(47), 1, 1);
+        Match sameDay = createMatch(other, other, stadium, date.plusHours(4), 0, 0);
+
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH | MatchRepository.CONFLICT_STADIUM_DAY,
+                matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), date));
+        assertEquals(MatchRepository.CONFLICT_STADIUM_DAY,
+                matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), date, near.getId()));
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH,
+                matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), date, sameDay.getId()));
+        assertEquals(0,
+                matchRepository.findScheduleConflicts(home.getId(), away.getId(), otherStadium.getId(), date.plusDays(3)));
     }
 
     @Test
-    @DisplayName("should find all matches for club")
-    void findAllMatchesForClub() {
+    @DisplayName("should keep the 48h window open and the stadium day closed only at midnight")
+    void findScheduleConflicts_boundaries() {
         Club home = createClub("Flamengo", State.RJ);
         Club away = createClub("Vasco", State.RJ);
         Stadium stadium = createStadium("Maracana");
-        createMatch(home, away, stadium, LocalDateTime.now(), 1, 1);
-        createMatch(away, home, stadium, LocalDateTime.now(), 2, 2);
-        List<Match> result = matchRepository.findAllMatchesForClub(home.getId());
-        assertEquals(2, result.size());
+        Club other = createClub("Botafogo", State.RJ);
+        Stadium otherStadium = createStadium("Nilton Santos");
+        LocalDateTime date = LocalDateTime.of(2025, 7, 15, 16, 0);
+        createMatch(home, away, otherStadium, date.minusHours(48), 1, 1);
+        createMatch(other, other, stadium, LocalDateTime.of(2025, 7, 14, 23, 59), 1, 1);
+        createMatch(other, other, stadium, LocalDateTime.of(2025, 7, 16, 0, 0), 1, 1);
+
+        // 48h antes e os jogos no estádio fora do dia não contam
+        assertEquals(0, matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), date));
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH,
+                matchRepository.findScheduleConflicts(home.getId(), away.getId(), stadium.getId(), date.minusMinutes(1)));
     }
-}
 
+    @Test
+    @DisplayName("should plan the conflict queries on the composite indexes")
+    void conflictQueries_useCompositeIndexes() throws Exception {
+        Map<String, Object> params = Map.of(
+                "homeClubId", 1L,
+                "awayClubId", 2L,
+                "stadiumId", 1L,
+                "matchId", 1L,
+                "nearStart", LocalDateTime.of(2025, 7, 13, 16, 0),
+                "nearEnd", LocalDateTime.of(2025, 7, 17, 16, 0),
+                "dayStart", LocalDateTime.of(2025, 7, 15, 0, 0),
+                "dayEnd", LocalDateTime.of(2025, 7, 16, 0, 0));
+
+        String plan = explain("findScheduleConflictMask", params, Long.class, Long.class, Long.class,
+                LocalDateTime.class, LocalDateTime.class, LocalDateTime.class, LocalDateTime.class, Long.class);
+        assertTrue(plan.contains("IDX_MATCHES_HOME_CLUB_DATE"), plan);
+        assertTrue(plan.contains("IDX_MATCHES_AWAY_CLUB_DATE"), plan);
+        assertTrue(plan.contains("IDX_MATCHES_STADIUM_DATE"), plan);
+    }
+
+    @Test
+    @DisplayName("should stream only scores between clubs of the given state")
+    void streamScores() {
+        Club flamengo = createClub("Flamengo", State.RJ);
+        Club vasco = createClub("Vasco", State.RJ);
+        Club santos = createClub("Santos", State.SP);
+        Stadium stadium = createStadium("Maracana");
+        createMatch(flamengo, vasco, stadium, LocalDateTime.now().minusDays(2), 2, 0);
+        createMatch(santos, flamengo, stadium, LocalDateTime.now().minusDays(1), 1, 1);
+
+        try (Stream<MatchScoreDTO> scores = matchRepository.streamScores(State.RJ)) {
+            assertEquals(List.of(new MatchScoreDTO(flamengo.getId(), vasco.getId(), 2, 0)), scores.toList());
+        }
+        try (Stream<MatchScoreDTO> scores = matchRepository.streamScores(null)) {
+            assertEquals(2, scores.count());
+        }
+    }
+
+    private String explain(String method, Map<String, Object> params, Class<?>... types) throws Exception {
+        String sql = MatchRepository.class.getMethod(method, types).getAnnotation(Query.class).value();
+        var query = entityManager.getEntityManager().createNativeQuery("EXPLAIN " + sql);
+        params.forEach((name, value) -> {
+            if (sql.contains(":" + name)) {
+                query.setParameter(name, value);
+            }
+        });
+        return query.getResultList().toString().toUpperCase();
+    }
+}
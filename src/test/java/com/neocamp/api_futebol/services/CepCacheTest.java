@@ -0,0 +1,93 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.exception.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepCacheTest {
+
+    AtomicLong now = new AtomicLong();
+
+    CepCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CepCache(2, Duration.ofMinutes(10), Duration.ofMinutes(1), now::get);
+    }
+
+    private Address address(String cep) {
+        Address address = new Address();
+        address.setCep(cep);
+        address.setLocalidade("Rio de Janeiro");
+        return address;
+    }
+
+    @Test
+    @DisplayName("should return a copy of the cached address")
+    void get() {
+        Address address = address("20271-130");
+        cache.put("20271130", address);
+
+        Address cached = cache.get("20271130");
+
+        assertEquals("20271-130", cached.getCep());
+        assertNotSame(address, cached);
+        assertNotSame(cached, cache.get("20271130"));
+        assertEquals(new CepCache.Stats(2, 0, 0, 0, 1), cache.stats());
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used CEP")
+    void lruEviction() {
+        cache.put("11111111", address("11111-111"));
+        cache.put("22222222", address("22222-222"));
+        cache.get("11111111");
+        cache.put("33333333", address("33333-333"));
+
+        assertNotNull(cache.get("11111111"));
+        assertNull(cache.get("22222222"));
+        assertNotNull(cache.get("33333333"));
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("should expire entries after the TTL")
+    void ttl() {
+        cache.put("11111111", address("11111-111"));
+        now.addAndGet(Duration.ofMinutes(10).toNanos() - 1);
+        assertNotNull(cache.get("11111111"));
+
+        now.incrementAndGet();
+        assertNull(cache.get("11111111"));
+        assertEquals(new CepCache.Stats(1, 1, 0, 1, 0), cache.stats());
+    }
+
+    @Test
+    @DisplayName("should cache CEP not found with its own TTL")
+    void negativeCache() {
+        cache.putNotFound("99999999");
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> cache.get("99999999"));
+        assertEquals("CEP não encontrado", ex.getMessage());
+
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        assertNull(cache.get("99999999"));
+    }
+
+    @Test
+    @DisplayName("should not cache when max size is zero")
+    void disabled() {
+        cache = new CepCache(0, Duration.ofMinutes(10), Duration.ofMinutes(1), now::get);
+        cache.put("11111111", address("11111-111"));
+
+        assertNull(cache.get("11111111"));
+        assertEquals(0, cache.stats().size());
+    }
+}
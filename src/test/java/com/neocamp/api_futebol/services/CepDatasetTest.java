@@ -0,0 +1,88 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CepDatasetTest {
+
+    @TempDir
+    Path dir;
+
+    private CepDataset convert(String csv) throws IOException {
+        Path input = dir.resolve("ceps.csv");
+        Path output = dir.resolve("ceps.bin");
+        Files.writeString(input, csv, StandardCharsets.UTF_8);
+        CepDatasetConverter.main(new String[]{input.toString(), output.toString()});
+        return CepDataset.open(output);
+    }
+
+    @Test
+    @DisplayName("should find CEPs converted from the CSV")
+    void find() throws IOException {
+        CepDataset dataset = convert("""
+                cep,logradouro,bairro,localidade,uf
+                20271-130,Rua Professor Eurico Rabelo,Maracanã,Rio de Janeiro,RJ
+                01001000,Praça da Sé,Sé,São Paulo,sp
+                30190-924,"Avenida Antônio Carlos, 6627",Pampulha,Belo Horizonte,MG
+                """);
+
+        assertEquals(3, dataset.size());
+        Address address = dataset.find("20271130");
+        assertEquals("20271-130", address.getCep());
+        assertEquals("Rua Professor Eurico Rabelo", address.getLogradouro());
+        assertEquals("Maracanã", address.getBairro());
+        assertEquals("Rio de Janeiro", address.getLocalidade());
+        assertEquals("RJ", address.getUf());
+        assertEquals("SP", dataset.find("01001-000").getUf());
+        assertEquals("Avenida Antônio Carlos, 6627", dataset.find("30190924").getLogradouro());
+    }
+
+    @Test
+    @DisplayName("should return null for CEPs outside the dataset")
+    void findCase2() throws IOException {
+        CepDataset dataset = convert("""
+                cep;logradouro;bairro;localidade;uf
+                20271130;Rua A;Centro;Rio de Janeiro;RJ
+                20271132;Rua B;Centro;Rio de Janeiro;RJ
+                """);
+
+        assertNull(dataset.find("00000000"));
+        assertNull(dataset.find("20271131"));
+        assertNull(dataset.find("99999999"));
+        assertNull(dataset.find("abc"));
+        assertEquals("Rua B", dataset.find("20271132").getLogradouro());
+    }
+
+    @Test
+    @DisplayName("should skip invalid lines and keep the last duplicate")
+    void convertCase2() throws IOException {
+        CepDataset dataset = convert("""
+                cep,logradouro,bairro,localidade,uf
+                1234,Rua curta,Centro,Cidade,SP
+                20271130,Rua A,Centro,Rio de Janeiro,RJ
+                20271130,Rua Nova,Centro,Rio de Janeiro,RJ
+                20271131,Rua sem UF,Centro,Rio de Janeiro,
+                """);
+
+        assertEquals(1, dataset.size());
+        assertEquals("Rua Nova", dataset.find("20271130").getLogradouro());
+    }
+
+    @Test
+    @DisplayName("should refuse a file that is not a CEP dataset")
+    void openCase2() throws IOException {
+        Path file = dir.resolve("other.bin");
+        Files.write(file, new byte[32]);
+
+        assertThrows(IllegalArgumentException.class, () -> CepDataset.open(file));
+    }
+}
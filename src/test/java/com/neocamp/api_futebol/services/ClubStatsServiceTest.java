@@ -0,0 +1,143 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.dtos.response.ClubStatsCheckDTO;
+import com.neocamp.api_futebol.dtos.response.ClubStatsDriftDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
+import com.neocamp.api_futebol.entities.Club;
+import com.neocamp.api_futebol.entities.ClubStats;
+import com.neocamp.api_futebol.entities.Match;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.exception.BadRequestException;
+import com.neocamp.api_futebol.repositories.ClubStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClubStatsServiceTest {
+    @Mock
+    private ClubStatsRepository clubStatsRepository;
+    @InjectMocks
+    private ClubStatsService clubStatsService;
+
+    private Club club1;
+    private Club club2;
+    private Stadium stadium;
+
+    @BeforeEach
+    void setUp() {
+        club1 = new Club();
+        club1.setId(1L);
+        club2 = new Club();
+        club2.setId(2L);
+        stadium = new Stadium("Estádio");
+    }
+
+    @Test
+    @DisplayName("should query the ranking by the filter ignoring the client sort")
+    void findRanking() {
+        ClubRankingDTO dto = new ClubRankingDTO(1L, "Club 1", 3L, 2L, 1L, 1L);
+        when(clubStatsRepository.findRankingByGoals(PageRequest.of(1, 5))).thenReturn(List.of(dto));
+
+        List<ClubRankingDTO> ranking = clubStatsService.findRanking("GOLS", PageRequest.of(1, 5, Sort.by("clubName")));
+
+        assertEquals(List.of(dto), ranking);
+    }
+
+    @Test
+    @DisplayName("should query the whole ranking when the pageable is unpaged")
+    void findRankingUnpaged() {
+        ClubRankingDTO dto = new ClubRankingDTO(1L, "Club 1", 3L, 2L, 1L, 1L);
+        when(clubStatsRepository.findRankingByPoints(Pageable.unpaged())).thenReturn(List.of(dto));
+
+        assertEquals(List.of(dto), clubStatsService.findRanking("pontos", Pageable.unpaged()));
+    }
+
+    @Test
+    @DisplayName("should throw BadRequestException when filter is invalid")
+    void findRankingCase2() {
+        assertThrows(BadRequestException.class, () -> clubStatsService.findRanking("invalid", PageRequest.of(0, 20)));
+    }
+
+    @Test
+    @DisplayName("should apply a home victory to the home side of one club and the away side of the other")
+    void registerMatch() {
+        clubStatsService.registerMatch(new Match(club1, club2, stadium, LocalDateTime.now(), 3, 1));
+
+        verify(clubStatsRepository).applyDelta(1L, 1L, 1L, 0L, 0L, 3L, 1L, 0L, 0L, 0L, 0L, 0L, 0L);
+        verify(clubStatsRepository).applyDelta(2L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 0L, 1L, 1L, 3L);
+        verify(clubStatsRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("should subtract a draw from both clubs")
+    void unregisterMatch() {
+        clubStatsService.unregisterMatch(new Match(club1, club2, stadium, LocalDateTime.now(), 2, 2));
+
+        verify(clubStatsRepository).applyDelta(1L, -1L, 0L, -1L, 0L, -2L, -2L, 0L, 0L, 0L, 0L, 0L, 0L);
+        verify(clubStatsRepository).applyDelta(2L, 0L, 0L, 0L, 0L, 0L, 0L, -1L, 0L, -1L, 0L, -2L, -2L);
+    }
+
+    @Test
+    @DisplayName("should aggregate a batch of scores into one delta per club")
+    void registerScores() {
+        clubStatsService.registerScores(List.of(
+                new MatchScoreDTO(1L, 2L, 3, 1),
+                new MatchScoreDTO(2L, 1L, 2, 2)));
+
+        verify(clubStatsRepository).applyDelta(1L, 1L, 1L, 0L, 0L, 3L, 1L, 1L, 0L, 1L, 0L, 2L, 2L);
+        verify(clubStatsRepository).applyDelta(2L, 1L, 0L, 1L, 0L, 2L, 2L, 1L, 0L, 0L, 1L, 1L, 3L);
+        verifyNoMoreInteractions(clubStatsRepository);
+    }
+
+    @Test
+    @DisplayName("should report no drift when the counters match the recomputed totals")
+    void check() {
+        when(clubStatsRepository.computeHomeStatsFromMatches()).thenReturn(List.of(new ClubSideStatsDTO(1L, 1L, 1L, 0L, 0L, 3L, 1L)));
+        when(clubStatsRepository.computeAwayStatsFromMatches()).thenReturn(List.of(new ClubSideStatsDTO(2L, 1L, 0L, 0L, 1L, 1L, 3L)));
+        when(clubStatsRepository.findAllCounters()).thenReturn(List.of(
+                new ClubStats(1L, 1L, 1L, 0L, 0L, 3L, 1L, 0L, 0L, 0L, 0L, 0L, 0L),
+                new ClubStats(2L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 0L, 1L, 1L, 3L),
+                // linha zerada de um clube que não tem mais partidas
+                new ClubStats(3L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L, 0L)));
+
+        assertEquals(new ClubStatsCheckDTO(3, 0, List.of()), clubStatsService.check());
+    }
+
+    @Test
+    @DisplayName("should report each drifted field, including clubs missing on either side")
+    void checkCase2() {
+        when(clubStatsRepository.computeHomeStatsFromMatches()).thenReturn(List.of(new ClubSideStatsDTO(1L, 2L, 1L, 1L, 0L, 4L, 2L)));
+        when(clubStatsRepository.computeAwayStatsFromMatches()).thenReturn(List.of());
+        when(clubStatsRepository.findAllCounters()).thenReturn(List.of(
+                new ClubStats(1L, 1L, 1L, 0L, 0L, 3L, 1L, 0L, 0L, 0L, 0L, 0L, 0L),
+                new ClubStats(2L, 0L, 0L, 0L, 0L, 0L, 0L, 1L, 0L, 0L, 1L, 0L, 0L)));
+
+        ClubStatsCheckDTO report = clubStatsService.check();
+
+        assertEquals(2, report.clubsChecked());
+        assertEquals(2, report.clubsWithDrift());
+        assertEquals(List.of(
+                new ClubStatsDriftDTO(1L, "homeMatches", 2L, 1L),
+                new ClubStatsDriftDTO(1L, "homeDraws", 1L, 0L),
+                new ClubStatsDriftDTO(1L, "homeGoalsFor", 4L, 3L),
+                new ClubStatsDriftDTO(1L, "homeGoalsAgainst", 2L, 1L),
+                new ClubStatsDriftDTO(2L, "awayMatches", 0L, 1L),
+                new ClubStatsDriftDTO(2L, "awayDefeats", 0L, 1L)), report.drifts());
+    }
+}
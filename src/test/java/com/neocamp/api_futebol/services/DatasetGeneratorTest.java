@@ -0,0 +1,123 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class DatasetGeneratorTest {
+
+    private static final LocalDate END_DATE = LocalDate.of(2024, 6, 30);
+
+    private static final String MATCHES_OF_SEED = """
+            SELECT m.id, m.home_club_id, m.away_club_id, m.stadium_id, m.match_date_time
+            FROM matches m JOIN clubs h ON h.id = m.home_club_id
+            WHERE h.name LIKE ? ORDER BY m.match_date_time, m.id
+            """;
+
+    private static final String SNAPSHOT_OF_SEED = """
+            SELECT h.name, a.name, s.name, m.match_date_time, m.home_goals, m.away_goals
+            FROM matches m
+            JOIN clubs h ON h.id = m.home_club_id
+            JOIN clubs a ON a.id = m.away_club_id
+            JOIN stadiums s ON s.id = m.stadium_id
+            WHERE h.name LIKE ? ORDER BY m.id
+            """;
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Gera clubes em todos os estados e partidas que passam nas regras de agenda e fundação")
+    void generateCase1() {
+        DatasetGenerator.Result result = datasetGenerator.generate(new DatasetGenerator.Spec(30, 10, 600, 7L, END_DATE));
+
+        assertEquals(30, result.clubs());
+        assertEquals(10, result.stadiums());
+        assertEquals(600, result.matches());
+        assertEquals(26, jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT state) FROM clubs WHERE name LIKE 'Clube 7-%'", Integer.class));
+
+        // mesma checagem do cadastro: cada partida contra as anteriores, na ordem do calendário
+        MatchSchedule schedule = new MatchSchedule();
+        List<MatchScheduleDTO> matches = jdbcTemplate.query(MATCHES_OF_SEED, (rs, row) -> new MatchScheduleDTO(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                rs.getTimestamp(5).toLocalDateTime()), "Clube 7-%");
+        assertEquals(600, matches.size());
+        for (MatchScheduleDTO match : matches) {
+            assertEquals(0, schedule.findConflicts(match.homeClubId(), match.awayClubId(), match.stadiumId(),
+                    match.matchDateTime(), match.matchId()), "conflito na partida " + match);
+            assertNotEquals(match.homeClubId(), match.awayClubId());
+            assertTrue(match.matchDateTime().isBefore(END_DATE.plusDays(1).atStartOfDay()));
+            schedule.add(match);
+        }
+
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM matches m
+                JOIN clubs h ON h.id = m.home_club_id
+                JOIN clubs a ON a.id = m.away_club_id
+                WHERE h.name LIKE 'Clube 7-%' AND (CAST(m.match_date_time AS DATE) < h.created_at
+                   OR CAST(m.match_date_time AS DATE) < a.created_at)
+                """, Integer.class));
+        assertEquals(30, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM club_stats s JOIN clubs c ON c.id = s.club_id
+                WHERE c.name LIKE 'Clube 7-%'
+                """, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Mesma semente e mesma data final geram os mesmos dados")
+    void generateCase2() {
+        DatasetGenerator.Spec spec = new DatasetGenerator.Spec(12, 4, 200, 11L, END_DATE);
+        datasetGenerator.generate(spec);
+        List<List<Object>> first = snapshot("Clube 11-%");
+
+        jdbcTemplate.update("DELETE FROM matches WHERE home_club_id IN (SELECT id FROM clubs WHERE name LIKE 'Clube 11-%')");
+        jdbcTemplate.update("DELETE FROM club_stats WHERE club_id IN (SELECT id FROM clubs WHERE name LIKE 'Clube 11-%')");
+        jdbcTemplate.update("DELETE FROM clubs WHERE name LIKE 'Clube 11-%'");
+        jdbcTemplate.update("DELETE FROM stadiums WHERE name LIKE 'Estádio 11-%'");
+        datasetGenerator.generate(spec);
+
+        assertEquals(200, first.size());
+        assertEquals(first, snapshot("Clube 11-%"));
+    }
+
+    @Test
+    @DisplayName("Recusa gerar de novo com a mesma semente")
+    void generateCase3() {
+        DatasetGenerator.Spec spec = new DatasetGenerator.Spec(4, 1, 10, 13L, END_DATE);
+        datasetGenerator.generate(spec);
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> datasetGenerator.generate(spec));
+        assertEquals("A base já tem dados gerados com a semente 13", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Partidas sem clubes ou estádios suficientes são recusadas")
+    void generateCase4() {
+        assertThrows(IllegalArgumentException.class,
+                () -> datasetGenerator.generate(new DatasetGenerator.Spec(1, 5, 10, 17L, END_DATE)));
+        assertThrows(IllegalArgumentException.class,
+                () -> datasetGenerator.generate(new DatasetGenerator.Spec(10, 0, 10, 17L, END_DATE)));
+    }
+
+    private List<List<Object>> snapshot(String clubPattern) {
+        return jdbcTemplate.query(SNAPSHOT_OF_SEED, (rs, row) -> List.<Object>of(rs.getString(1), rs.getString(2),
+                rs.getString(3), rs.getTimestamp(4).toLocalDateTime(), rs.getInt(5), rs.getInt(6)), clubPattern);
+    }
+}
@@ -0,0 +1,177 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.ClubSideStatsDTO;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HeadToHeadCacheTest {
+    @Mock
+    MatchRepository matchRepository;
+
+    HeadToHeadCache cache;
+
+    AtomicLong now = new AtomicLong();
+
+    // clube 1 em casa: 3 jogos (2V 1D, 5x3); clube 2 em casa: 2 jogos (1V 1E, 3x2)
+    List<ClubSideStatsDTO> rows = List.of(
+            new ClubSideStatsDTO(1L, 3L, 2L, 0L, 1L, 5L, 3L),
+            new ClubSideStatsDTO(2L, 2L, 1L, 1L, 0L, 3L, 2L));
+
+    @BeforeEach
+    void setUp() {
+        cache = new HeadToHeadCache(matchRepository, 2, Duration.ofMinutes(10), now::get);
+    }
+
+    @Test
+    @DisplayName("should share one entry for both orders of the pair and derive each perspective")
+    void get() {
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenReturn(rows);
+
+        HeadToHead fromFirst = cache.get(1L, 2L);
+        HeadToHead fromSecond = cache.get(2L, 1L);
+
+        assertSame(fromFirst, fromSecond);
+        verify(matchRepository, times(1)).findHeadToHeadByHomeClub(1L, 2L);
+        assertEquals(new HeadToHeadCache.Stats(1, 1, 0, 0, 0, 1), cache.stats());
+
+        assertEquals(new HeadToHead.Totals(3, 2, 0, 1, 5, 3), fromFirst.viewOf(1L, true, false));
+        assertEquals(new HeadToHead.Totals(2, 0, 1, 1, 2, 3), fromFirst.viewOf(1L, false, true));
+        assertEquals(new HeadToHead.Totals(5, 2, 1, 2, 7, 6), fromFirst.viewOf(1L, true, true));
+        assertEquals(new HeadToHead.Totals(2, 1, 1, 0, 3, 2), fromFirst.viewOf(2L, true, false));
+        assertEquals(new HeadToHead.Totals(5, 2, 1, 2, 6, 7), fromFirst.viewOf(2L, true, true));
+    }
+
+    @Test
+    @DisplayName("should return zeros for clubs that never played each other")
+    void getWithoutMatches() {
+        when(matchRepository.findHeadToHeadByHomeClub(3L, 7L)).thenReturn(List.of());
+
+        assertEquals(new HeadToHead.Totals(0, 0, 0, 0, 0, 0), cache.get(7L, 3L).viewOf(7L, true, true));
+    }
+
+    @Test
+    @DisplayName("should invalidate only the pair of the written match")
+    void invalidate() {
+        when(matchRepository.findHeadToHeadByHomeClub(anyLong(), anyLong())).thenReturn(List.of());
+        cache.get(1L, 2L);
+        cache.get(1L, 3L);
+
+        cache.invalidate(2L, 1L);
+        cache.get(1L, 2L);
+        cache.get(1L, 3L);
+
+        verify(matchRepository, times(2)).findHeadToHeadByHomeClub(1L, 2L);
+        verify(matchRepository, times(1)).findHeadToHeadByHomeClub(1L, 3L);
+        assertEquals(1, cache.stats().invalidations());
+    }
+
+    @Test
+    @DisplayName("should evict the least recently used pair")
+    void lruEviction() {
+        when(matchRepository.findHeadToHeadByHomeClub(anyLong(), anyLong())).thenReturn(List.of());
+        cache.get(1L, 2L);
+        cache.get(1L, 3L);
+        cache.get(1L, 2L);
+        cache.get(1L, 4L);
+
+        cache.get(1L, 2L);
+        cache.get(1L, 3L);
+
+        verify(matchRepository, times(1)).findHeadToHeadByHomeClub(1L, 2L);
+        verify(matchRepository, times(2)).findHeadToHeadByHomeClub(1L, 3L);
+        assertEquals(2, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("should reload the pair once its entry expires")
+    void expiration() {
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenReturn(rows);
+        cache.get(1L, 2L);
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos() - 1);
+        cache.get(1L, 2L);
+        verify(matchRepository, times(1)).findHeadToHeadByHomeClub(1L, 2L);
+
+        now.incrementAndGet();
+        cache.get(1L, 2L);
+        verify(matchRepository, times(2)).findHeadToHeadByHomeClub(1L, 2L);
+        assertEquals(1, cache.stats().expirations());
+        assertEquals(1, cache.stats().size());
+    }
+
+    @Test
+    @DisplayName("should register the cache meters when bound to a registry")
+    void bindTo() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenReturn(rows);
+        cache.get(1L, 2L);
+
+        cache.bindTo(meterRegistry);
+
+        assertEquals(1, meterRegistry.get("headtohead.cache.misses").functionCounter().count());
+        assertEquals(1, meterRegistry.get("headtohead.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("should not store a load that raced with an invalidation")
+    void loadRacingInvalidation() {
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenAnswer(invocation -> {
+            // a partida é gravada enquanto o valor antigo ainda está sendo lido
+            cache.invalidate(1L, 2L);
+            return rows;
+        }).thenReturn(List.of());
+
+        cache.get(1L, 2L);
+        cache.get(1L, 2L);
+
+        verify(matchRepository, times(2)).findHeadToHeadByHomeClub(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("should invalidate again when the writing transaction completes")
+    void invalidateAfterCompletion() {
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenReturn(rows);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L, 2L);
+            // leitura na própria transação: vê a escrita ainda não confirmada
+            cache.get(1L, 2L);
+            assertEquals(1, cache.stats().size());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, cache.stats().size());
+    }
+
+    @Test
+    @DisplayName("should not cache anything when max size is zero")
+    void disabled() {
+        cache = new HeadToHeadCache(matchRepository, 0, Duration.ofMinutes(10), now::get);
+        when(matchRepository.findHeadToHeadByHomeClub(1L, 2L)).thenReturn(rows);
+
+        cache.get(1L, 2L);
+        cache.get(1L, 2L);
+
+        verify(matchRepository, times(2)).findHeadToHeadByHomeClub(1L, 2L);
+        assertEquals(0, cache.stats().size());
+    }
+}
@@ -0,0 +1,156 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.repositories.MatchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MatchScheduleIndexTest {
+    @Mock
+    MatchRepository matchRepository;
+
+    MatchScheduleIndex index;
+
+    LocalDateTime date = LocalDateTime.of(2025, 7, 15, 16, 0);
+
+    @BeforeEach
+    void setUp() {
+        index = new MatchScheduleIndex(matchRepository, true);
+    }
+
+    @Test
+    @DisplayName("should find near matches only inside the open 48h window")
+    void findConflictsNearMatches() {
+        index.register(new MatchScheduleDTO(1L, 1L, 3L, 9L, date.minusHours(48)));
+        index.register(new MatchScheduleDTO(2L, 4L, 2L, 9L, date.plusHours(48)));
+        assertEquals(0, index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+
+        index.register(new MatchScheduleDTO(3L, 4L, 2L, 9L, date.plusHours(47).plusMinutes(59)));
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH, index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+    }
+
+    @Test
+    @DisplayName("should find stadium matches on the same calendar day only")
+    void findConflictsStadiumDay() {
+        index.register(new MatchScheduleDTO(1L, 3L, 4L, 5L, date.plusDays(1).toLocalDate().atStartOfDay()));
+        assertEquals(0, index.findConflicts(1L, 2L, 5L, date.minusDays(5), MatchRepository.NO_MATCH_ID));
+        assertEquals(0, index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+
+        index.register(new MatchScheduleDTO(2L, 3L, 4L, 5L, date.toLocalDate().atStartOfDay()));
+        assertEquals(MatchRepository.CONFLICT_STADIUM_DAY, index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+    }
+
+    @Test
+    @DisplayName("should ignore the match being updated")
+    void findConflictsIgnoringMatch() {
+        index.register(new MatchScheduleDTO(1L, 1L, 2L, 5L, date));
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH | MatchRepository.CONFLICT_STADIUM_DAY,
+                index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+        assertEquals(0, index.findConflicts(1L, 2L, 5L, date, 1L));
+    }
+
+    @Test
+    @DisplayName("should follow updates and deletes")
+    void replaceAndUnregister() {
+        MatchScheduleDTO previous = new MatchScheduleDTO(1L, 1L, 2L, 5L, date);
+        MatchScheduleDTO current = new MatchScheduleDTO(1L, 3L, 4L, 6L, date);
+        index.register(previous);
+
+        index.replace(previous, current);
+        assertEquals(0, index.findConflicts(1L, 2L, 5L, date, MatchRepository.NO_MATCH_ID));
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH | MatchRepository.CONFLICT_STADIUM_DAY,
+                index.findConflicts(3L, 8L, 6L, date, MatchRepository.NO_MATCH_ID));
+
+        index.unregister(current);
+        assertEquals(0, index.findConflicts(3L, 8L, 6L, date, MatchRepository.NO_MATCH_ID));
+    }
+
+    @Test
+    @DisplayName("should load the schedule from the database")
+    void load() {
+        when(matchRepository.streamAllSchedules()).thenReturn(Stream.of(new MatchScheduleDTO(1L, 1L, 2L, 5L, date)));
+        index.register(new MatchScheduleDTO(2L, 7L, 8L, 9L, date));
+        assertFalse(index.isLoaded());
+
+        index.load();
+
+        assertTrue(index.isLoaded());
+        assertEquals(MatchRepository.CONFLICT_NEAR_MATCH, index.findConflicts(2L, 3L, 4L, date, MatchRepository.NO_MATCH_ID));
+        assertEquals(0, index.findConflicts(7L, 8L, 9L, date, MatchRepository.NO_MATCH_ID));
+    }
+
+    @Test
+    @DisplayName("should not load the schedule when disabled")
+    void loadCase2() {
+        MatchScheduleIndex disabled = new MatchScheduleIndex(matchRepository, false);
+
+        disabled.load();
+
+        assertFalse(disabled.isLoaded());
+        verifyNoInteractions(matchRepository);
+    }
+
+    @Test
+    @DisplayName("should keep every match under concurrent writers")
+    void concurrentWriters() throws Exception {
+        int days = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                long writer = t;
+                futures.add(executor.submit(() -> {
+                    for (int d = 0; d < days; d++) {
+                        // metade insere e remove no mesmo estádio e dia; a outra metade só insere
+                        MatchScheduleDTO schedule = schedule(writer, d);
+                        index.register(schedule);
+                        if (writer % 2 == 0) {
+                            index.unregister(schedule);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int d = 0; d < days; d++) {
+            assertEquals(MatchRepository.CONFLICT_NEAR_MATCH | MatchRepository.CONFLICT_STADIUM_DAY,
+                    index.findConflicts(1L, 2L, 5L, date.plusDays(d), MatchRepository.NO_MATCH_ID));
+        }
+        for (int d = 0; d < days; d++) {
+            for (long writer = 1; writer < 8; writer += 2) {
+                index.unregister(schedule(writer, d));
+            }
+        }
+        for (int d = 0; d < days; d++) {
+            assertEquals(0, index.findConflicts(1L, 2L, 5L, date.plusDays(d), MatchRepository.NO_MATCH_ID));
+        }
+    }
+
+    private MatchScheduleDTO schedule(long writer, int day) {
+        return new MatchScheduleDTO(day * 8L + writer + 1, 1L, 100L + writer, 5L, date.plusDays(day));
+    }
+}
@@ -2,9 +2,13 @@ package com.neocamp.api_futebol.services;
 
 import com.neocamp.api_futebol.dtos.request.MatchesRequestDTO;
 import com.neocamp.api_futebol.dtos.response.ClubRankingDTO;
+import com.neocamp.api_futebol.dtos.response.ClubRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
+import com.neocamp.api_futebol.dtos.response.MatchScoreDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesResponseDTO;
 import com.neocamp.api_futebol.dtos.response.MatchesRetrospectDTO;
 import com.neocamp.api_futebol.dtos.response.OppRetrospectDTO;
+import com.neocamp.api_futebol.dtos.response.RetrospectBatchEntryDTO;
 import com.neocamp.api_futebol.entities.Club;
 import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
@@ -22,13 +26,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +49,12 @@ class MatchServiceTest {
     private MatchValidationsService validations;
     @Mock
     private StadiumRepository stadiumRepository;
+    @Mock
+    private ClubStatsService clubStatsService;
+    @Mock
+    private MatchScheduleIndex matchScheduleIndex;
+    @Mock
+    private HeadToHeadCache headToHeadCache;
     @InjectMocks
     private MatchService matchService;
 
@@ -71,54 +83,43 @@ class MatchServiceTest {
     }
 
     @Test
-    @DisplayName("should return the ranking by points")
+    @DisplayName("should delegate the ranking to the club stats service")
     void getRanking() {
-        when(matchRepository.findClubRanking()).thenReturn(Arrays.asList(clubRankingDTO1, clubRankingDTO2));
+        PageRequest page = PageRequest.of(0, 20);
+        List<ClubRankingDTO> expected = List.of(clubRankingDTO1, clubRankingDTO2);
+        when(clubStatsService.findRanking("pontos", page)).thenReturn(expected);
 
-        List<ClubRankingDTO> ranking = matchService.rankClubsByFilter("pontos");
-        assertFalse(ranking.isEmpty());
-        assertEquals(6L, ranking.get(0).points());
-        assertTrue(ranking.get(0).points() >= ranking.get(1).points());
+        assertSame(expected, matchService.rankClubsByFilter("pontos", page));
     }
 
     @Test
-    @DisplayName("should return the ranking by goals")
-    void getRankingCase2() {
-        when(matchRepository.findClubRanking()).thenReturn(Arrays.asList(clubRankingDTO1, clubRankingDTO2));
-        List<ClubRankingDTO> ranking = matchService.rankClubsByFilter("gols");
-        assertFalse(ranking.isEmpty());
-        assertEquals(5L, ranking.get(0).goals());
-        assertTrue(ranking.get(0).goals() >= ranking.get(1).goals());
-    }
+    @DisplayName("should rank clubs in one pass keeping club order on ties")
+    void getRankingStream() {
+        Club club3 = new Club();
+        club3.setId(3L);
+        club3.setName("Club 3");
+        when(clubRepository.findAll()).thenReturn(List.of(club1, club2, club3));
+        when(matchRepository.findAllScores()).thenReturn(List.of(
+                new MatchScoreDTO(1L, 2L, 2, 0),
+                new MatchScoreDTO(2L, 1L, 1, 0),
+                new MatchScoreDTO(1L, 2L, 1, 1)
+        ));
 
-    @Test
-    @DisplayName("should return the ranking by victories")
-    void getRankingCase3() {
-        when(matchRepository.findClubRanking()).thenReturn(Arrays.asList(clubRankingDTO1, clubRankingDTO2));
-        List<ClubRankingDTO> ranking = matchService.rankClubsByFilter("vitorias");
-        assertFalse(ranking.isEmpty());
-        assertEquals(2L, ranking.get(0).victories());
-        assertTrue(ranking.get(0).victories() >= ranking.get(1).victories());
-    }
+        List<ClubRankingDTO> ranking = matchService.rankClubsByFilterStream("pontos");
 
-    @Test
-    @DisplayName("should return the ranking by matches")
-    void getRankingCase4() {
-        when(matchRepository.findClubRanking()).thenReturn(Arrays.asList(clubRankingDTO1, clubRankingDTO2));
-        List<ClubRankingDTO> ranking = matchService.rankClubsByFilter("partidas");
-        assertFalse(ranking.isEmpty());
-        assertEquals(3L, ranking.get(0).matches());
-        assertTrue(ranking.get(0).matches() >= ranking.get(1).matches());
+        assertEquals(2, ranking.size());
+        assertEquals(new ClubRankingDTO(1L, "Club 1", 4L, 3L, 1L, 3L), ranking.get(0));
+        assertEquals(new ClubRankingDTO(2L, "Club 2", 4L, 2L, 1L, 3L), ranking.get(1));
     }
 
     @Test
-    @DisplayName("should return 400 when filter is invalid")
-    void getRankingCase5() {
-        when(matchRepository.findClubRanking()).thenReturn(Arrays.asList(clubRankingDTO1, clubRankingDTO2));
-        assertThrows(BadRequestException.class, () -> matchService.rankClubsByFilter("invalid"));
+    @DisplayName("should throw BadRequestException when stream filter is invalid")
+    void getRankingStreamCase2() {
+        when(clubRepository.findAll()).thenReturn(List.of(club1, club2));
+        when(matchRepository.findAllScores()).thenReturn(List.of());
+        assertThrows(BadRequestException.class, () -> matchService.rankClubsByFilterStream("invalid"));
     }
 
-
     @Test
     void testFindByIdSuccess() {
 
@@ -145,15 +146,18 @@ class MatchServiceTest {
 
     @Test
     void testDeleteMatchSuccess() {
-        when(matchRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(matchRepository).deleteById(1L);
+        Match match = new Match(club1, club2, stadium1, LocalDateTime.now().minusDays(1), 2, 1);
+        when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
         matchService.deleteMatch(1L);
-        verify(matchRepository, times(1)).deleteById(1L);
+        verify(clubStatsService).unregisterMatch(match);
+        verify(matchRepository, times(1)).delete(match);
+        verify(headToHeadCache).invalidate(1L, 2L);
+        verify(matchScheduleIndex).unregister(MatchScheduleDTO.of(match));
     }
 
     @Test
     void testDeleteMatchNotFound() {
-        when(matchRepository.existsById(99L)).thenReturn(false);
+        when(matchRepository.findById(99L)).thenReturn(Optional.empty());
         assertThrows(com.neocamp.api_futebol.exception.NotFoundException.class, () -> matchService.deleteMatch(99L));
     }
 
@@ -163,17 +167,18 @@ class MatchServiceTest {
     void CreateMatchCase1() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusDays(1), 2,1);
         Match match = new Match(club1, club2, stadium1, dto.matchDateTime(), dto.homeGoals(), dto.awayGoals());
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
         when(matchRepository.save(any(Match.class))).thenReturn(match);
         var response = matchService.createMatch(dto);
 
+        verify(clubStatsService).registerMatch(any(Match.class));
+        verify(headToHeadCache).invalidate(1L, 2L);
+        verify(matchScheduleIndex).register(any(MatchScheduleDTO.class));
         verify(validations).validateNotSameClubs(club1, club2);
         verify(validations).validateClubsActive(club1, club2);
         verify(validations).validateDateAfterFoundation(dto.matchDateTime(), club1, club2);
-        verify(validations).validateNoNearMatches(club1, club2, dto.matchDateTime());
-        verify(validations).validateStadiumAvailable(stadium1, dto.matchDateTime());
+        verify(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime());
 
         assertNotNull(response);
         assertEquals("2 x 1", response.result());
@@ -185,7 +190,7 @@ class MatchServiceTest {
     void CreateMatchCase2() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 1L, 1L, LocalDateTime.now(), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
+        when(validations.findClubsOrThrow(1L, 1L)).thenReturn(List.of(club1, club1));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Clubes não podem ser iguais!"))
@@ -203,8 +208,7 @@ class MatchServiceTest {
     void CreateMatchCase3() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now(), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         club1.setActive(false);
@@ -225,8 +229,7 @@ class MatchServiceTest {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusYears(11), 2, 1);
 
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Partida não pode ser criada antes da fundação de algum dos clubes!"))
@@ -244,12 +247,11 @@ class MatchServiceTest {
     void CreateMatchCase5() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusDays(1), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Clubes possuem partidas próximas!"))
-                .when(validations).validateNoNearMatches(club1, club2, dto.matchDateTime());
+                .when(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime());
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -263,12 +265,11 @@ class MatchServiceTest {
     void CreateMatchCase6() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusDays(1), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Estádio já tem partida no mesmo dia."))
-                .when(validations).validateStadiumAvailable(stadium1, dto.matchDateTime());
+                .when(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime());
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -282,8 +283,7 @@ class MatchServiceTest {
     void CreateMatchCase7() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusDays(1), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenThrow(new BadRequestException("Estádio não encontrado!"));
 
         BadRequestException exception = assertThrows(
@@ -298,8 +298,7 @@ class MatchServiceTest {
     void CreateMatchCase8() {
         MatchesRequestDTO dto = new MatchesRequestDTO(1L, 2L, 1L, LocalDateTime.now().minusDays(1), 2, 1);
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenThrow(new BadRequestException("Clube não encontrado!"));
+        when(validations.findClubsOrThrow(1L, 2L)).thenThrow(new BadRequestException("Clube não encontrado!"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -315,17 +314,18 @@ class MatchServiceTest {
         match.setId(1L);
 
         when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
         when(matchRepository.save(any(Match.class))).thenReturn(match);
         MatchesResponseDTO response = matchService.updateMatch(1L, dto);
 
+        verify(clubStatsService).unregisterMatch(match);
+        verify(clubStatsService).registerMatch(match);
+        verify(matchScheduleIndex).replace(any(MatchScheduleDTO.class), any(MatchScheduleDTO.class));
         verify(validations).validateNotSameClubs(club1, club2);
         verify(validations).validateClubsActive(club1, club2);
         verify(validations).validateDateAfterFoundation(dto.matchDateTime(), club1, club2);
-        verify(validations).validateNoNearMatches(club1, club2, dto.matchDateTime(), 1L);
-        verify(validations).validateStadiumAvailable(stadium1, dto.matchDateTime(), 1L);
+        verify(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime(), 1L);
 
         assertNotNull(response);
         assertEquals("3 x 1", response.result());
@@ -357,7 +357,7 @@ class MatchServiceTest {
        when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
 
-       when(validations.findClubOrThrow(1L)).thenReturn(club1);
+       when(validations.findClubsOrThrow(1L, 1L)).thenReturn(List.of(club1, club1));
        when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
        doThrow(new BadRequestException("Clubes não podem ser iguais!"))
@@ -379,8 +379,7 @@ class MatchServiceTest {
 
        when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-       when(validations.findClubOrThrow(1L)).thenReturn(club1);
-       when(validations.findClubOrThrow(2L)).thenReturn(club2);
+       when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
        when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
        club1.setActive(false);
@@ -404,8 +403,7 @@ class MatchServiceTest {
 
          when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-         when(validations.findClubOrThrow(1L)).thenReturn(club1);
-         when(validations.findClubOrThrow(2L)).thenReturn(club2);
+         when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
          when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
          doThrow(new BadRequestException("Partida não pode ser criada antes da fundação de algum dos clubes!"))
@@ -427,12 +425,11 @@ class MatchServiceTest {
 
         when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Clubes possuem partidas próximas!"))
-                .when(validations).validateNoNearMatches(club1, club2, dto.matchDateTime(), 1L);
+                .when(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime(), 1L);
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -450,12 +447,11 @@ class MatchServiceTest {
 
         when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
 
         doThrow(new BadRequestException("Estádio já tem partida no mesmo dia."))
-                .when(validations).validateStadiumAvailable(stadium1, dto.matchDateTime(), 1L);
+                .when(validations).validateScheduleAvailable(club1, club2, stadium1, dto.matchDateTime(), 1L);
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -473,8 +469,7 @@ class MatchServiceTest {
 
         when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenReturn(club2);
+        when(validations.findClubsOrThrow(1L, 2L)).thenReturn(List.of(club1, club2));
         when(validations.findStadiumOrThrow(1L)).thenThrow(new BadRequestException("Estádio não encontrado!"));
 
         BadRequestException exception = assertThrows(
@@ -493,8 +488,7 @@ class MatchServiceTest {
 
         when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
 
-        when(validations.findClubOrThrow(1L)).thenReturn(club1);
-        when(validations.findClubOrThrow(2L)).thenThrow(new BadRequestException("Clube não encontrado!"));
+        when(validations.findClubsOrThrow(1L, 2L)).thenThrow(new BadRequestException("Clube não encontrado!"));
 
         BadRequestException exception = assertThrows(
                 BadRequestException.class,
@@ -511,6 +505,25 @@ class MatchServiceTest {
         assertThrows(NotFoundException.class, () -> matchService.updateMatch(1L, dto));
     }
 
+    @Test
+    @DisplayName("should invalidate the head-to-head of the previous and the new pair of clubs")
+    void updateMatchCase11() {
+        Club club3 = new Club();
+        club3.setId(3L);
+        club3.setName("Club 3");
+        MatchesRequestDTO dto = new MatchesRequestDTO(3L, 2L, 1L, LocalDateTime.now().plusDays(2), 3, 1);
+        Match match = new Match(club1, club2, stadium1, dto.matchDateTime(), dto.homeGoals(), dto.awayGoals());
+        match.setId(1L);
+
+        when(matchRepository.findById(1L)).thenReturn(Optional.of(match));
+        when(validations.findClubsOrThrow(3L, 2L)).thenReturn(List.of(club3, club2));
+        when(validations.findStadiumOrThrow(1L)).thenReturn(stadium1);
+        matchService.updateMatch(1L, dto);
+
+        verify(headToHeadCache).invalidate(1L, 2L);
+        verify(headToHeadCache).invalidate(3L, 2L);
+    }
+
     @Test
     @DisplayName("should return all matches when no filters applied")
     void searchMatches() {
@@ -597,79 +610,43 @@ class MatchServiceTest {
     }
 
     @Test
-    @DisplayName("should return correct stats for home matches")
+    @DisplayName("should return the home counters of the club")
     void getClubRetrospective() {
-        List<Match> matches = List.of(
-                createMatch(3, 1, club1, club2),
-                createMatch(2, 1, club1, club2),
-                createMatch(0, 1, club1, club2)
-        );
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(matchRepository.findAllHomeMatchesForClub(1L)).thenReturn(matches);
+        MatchesRetrospectDTO stats = new MatchesRetrospectDTO("Club 1", 3, 2, 0, 1, 5, 3);
+        when(clubStatsService.findRetrospective(1L, true, false)).thenReturn(Optional.of(stats));
 
         MatchesRetrospectDTO dto = matchService.getClubRetrospective(1L, "casa");
 
-        assertEquals("Club 1", dto.clubName());
-        assertEquals(3, dto.matches());
-        assertEquals(2, dto.victories());
-        assertEquals(0, dto.draws());
-        assertEquals(1, dto.defeats());
-        assertEquals(5, dto.goalsFor());
-        assertEquals(3, dto.goalsAgainst());
+        assertEquals(stats, dto);
     }
 
     @Test
-    @DisplayName("should return correct stats for away matches")
+    @DisplayName("should return the away counters of the club")
     void getClubRetrospectiveCase2() {
-        List<Match> matches = List.of(
-                createMatch(1, 2, club2, club1),
-                createMatch(1, 1, club2, club1),
-                createMatch(2, 0, club2, club1)
-        );
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(matchRepository.findAllAwayMatchesForClub(1L)).thenReturn(matches);
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1)); // para o segundo fetch
+        MatchesRetrospectDTO stats = new MatchesRetrospectDTO("Club 1", 3, 1, 1, 1, 3, 4);
+        when(clubStatsService.findRetrospective(1L, false, true)).thenReturn(Optional.of(stats));
 
-        MatchesRetrospectDTO dto = matchService.getClubRetrospective(1L, "fora");
+        MatchesRetrospectDTO dto = matchService.getClubRetrospective(1L, "FORA");
 
-        assertEquals("Club 1", dto.clubName());
-        assertEquals(3, dto.matches());
-        assertEquals(1, dto.victories());
-        assertEquals(1, dto.draws());
-        assertEquals(1, dto.defeats());
-        assertEquals(3, dto.goalsFor());
-        assertEquals(4, dto.goalsAgainst());
+        assertEquals(stats, dto);
     }
 
     @Test
-    @DisplayName("should return correct stats for all matches (both sides)")
+    @DisplayName("should return the counters of both sides")
     void getClubRetrospectiveCase3() {
-
-        List<Match> matches = List.of(
-                createMatch(3, 1, club1, club2),
-                createMatch(1, 1, club2, club1),
-                createMatch(2, 0, club1, club2)
-        );
-
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(matchRepository.findAllMatchesForClub(1L)).thenReturn(matches);
-
+        MatchesRetrospectDTO stats = new MatchesRetrospectDTO("Club 1", 3, 2, 1, 0, 6, 2);
+        when(clubStatsService.findRetrospective(1L, true, true)).thenReturn(Optional.of(stats));
 
         MatchesRetrospectDTO dto = matchService.getClubRetrospective(club1.getId(), null);
 
-        assertEquals("Club 1", dto.clubName());
-        assertEquals(3, dto.matches());
-        assertEquals(2, dto.victories());
-        assertEquals(1, dto.draws());
-        assertEquals(0, dto.defeats());
-        assertEquals(6, dto.goalsFor());
-        assertEquals(2, dto.goalsAgainst());
+        assertEquals(stats, dto);
+        verifyNoInteractions(clubRepository);
     }
 
     @Test
-    @DisplayName("should throw NotFoundException when club does not exist (first check)")
+    @DisplayName("should throw NotFoundException when club does not exist")
     void getClubRetrospectiveCase4() {
-        when(clubRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clubStatsService.findRetrospective(1L, true, true)).thenReturn(Optional.empty());
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> matchService.getClubRetrospective(1L, null));
@@ -680,101 +657,103 @@ class MatchServiceTest {
     @Test
     @DisplayName("should throw BadRequestException for invalid side")
     void getClubRetrospectiveCase5() {
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> matchService.getClubRetrospective(1L, "invalid"));
         assertEquals("Lado inválido!", ex.getMessage());
+        verifyNoInteractions(clubStatsService);
+    }
+
+    @Test
+    @DisplayName("should return the retrospects of many clubs keyed by id in the requested order")
+    void getClubRetrospectives() {
+        when(clubStatsService.findRetrospectives(Set.of(2L, 1L), true, false)).thenReturn(List.of(
+                new ClubRetrospectDTO(1L, "Club 1", 3, 2, 0, 1, 5, 3),
+                new ClubRetrospectDTO(2L, "Club 2", 1, 0, 1, 0, 2, 2)));
+
+        Map<Long, RetrospectBatchEntryDTO> result = matchService.getClubRetrospectives(List.of(2L, 1L, 2L), "casa");
+
+        assertEquals(List.of(2L, 1L), List.copyOf(result.keySet()));
+        assertEquals(new RetrospectBatchEntryDTO(new MatchesRetrospectDTO("Club 1", 3, 2, 0, 1, 5, 3), null), result.get(1L));
+        assertEquals(new RetrospectBatchEntryDTO(new MatchesRetrospectDTO("Club 2", 1, 0, 1, 0, 2, 2), null), result.get(2L));
+    }
+
+    @Test
+    @DisplayName("should report unknown clubs per entry without failing the batch")
+    void getClubRetrospectivesCase2() {
+        when(clubStatsService.findRetrospectives(Set.of(1L, 99L), true, true)).thenReturn(List.of(
+                new ClubRetrospectDTO(1L, "Club 1", 0, 0, 0, 0, 0, 0)));
+
+        Map<Long, RetrospectBatchEntryDTO> result = matchService.getClubRetrospectives(List.of(1L, 99L), null);
+
+        assertEquals(new RetrospectBatchEntryDTO(new MatchesRetrospectDTO("Club 1", 0, 0, 0, 0, 0, 0), null), result.get(1L));
+        assertEquals(new RetrospectBatchEntryDTO(null, "Clube não encontrado!"), result.get(99L));
+    }
+
+    @Test
+    @DisplayName("should throw BadRequestException for invalid side in the batch")
+    void getClubRetrospectivesCase3() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> matchService.getClubRetrospectives(List.of(1L), "meio"));
+        assertEquals("Lado inválido!", ex.getMessage());
+        verifyNoInteractions(clubStatsService);
     }
 
 
+    // club1 em casa: 3 jogos (2V 1D, 5x3); club2 em casa: 2 jogos (1V 1E, 3x2)
+    private HeadToHead headToHead() {
+        return new HeadToHead(1L, new HeadToHead.Totals(3, 2, 0, 1, 5, 3), new HeadToHead.Totals(2, 1, 1, 0, 3, 2));
+    }
+
     @Test
     @DisplayName("should return correct stats for all matches between two clubs")
     void getOppRetrospect(){
-        List<Match> matches = List.of(
-                createMatch(3, 1, club1, club2),
-                createMatch(2, 1, club1, club2),
-                createMatch(0, 1, club1, club2)
-        );
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(clubRepository.findById(2L)).thenReturn(Optional.of(club2));
-        when(matchRepository.findAllMatchesBetweenClubs(1L, 2L, null)).thenReturn(matches);
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club1, club2));
+        when(headToHeadCache.get(1L, 2L)).thenReturn(headToHead());
 
         OppRetrospectDTO dto = matchService.getOneOppRestrospect(1L, 2L, null);
 
-        assertEquals(2L, dto.opponentId());
-        assertEquals("Club 2", dto.opponentName());
-        assertEquals(3, dto.matches());
-        assertEquals(2, dto.victories());
-        assertEquals(0, dto.draws());
-        assertEquals(1, dto.defeats());
-        assertEquals(5, dto.goalsFor());
-        assertEquals(3, dto.goalsAgainst());
+        assertEquals(new OppRetrospectDTO(2L, "Club 2", 5L, 2L, 1L, 2L, 7L, 6L), dto);
+        verify(clubRepository, never()).findById(any());
+        verifyNoInteractions(matchRepository);
     }
 
     @Test
     @DisplayName("should return correct stats for all matches between two clubs when side is home")
     void getOppRetrospectCase2(){
-        List<Match> matches = List.of(
-                createMatch(3, 1, club1, club2),
-                createMatch(2, 1, club1, club2),
-                createMatch(0, 1, club1, club2)
-        );
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(clubRepository.findById(2L)).thenReturn(Optional.of(club2));
-        when(matchRepository.findAllMatchesBetweenClubs(1L, 2L, "casa")).thenReturn(matches);
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club1, club2));
+        when(headToHeadCache.get(1L, 2L)).thenReturn(headToHead());
 
         OppRetrospectDTO dto = matchService.getOneOppRestrospect(1L, 2L, "casa");
 
-        assertEquals(2L, dto.opponentId());
-        assertEquals("Club 2", dto.opponentName());
-        assertEquals(3, dto.matches());
-        assertEquals(2, dto.victories());
-        assertEquals(0, dto.draws());
-        assertEquals(1, dto.defeats());
-        assertEquals(5, dto.goalsFor());
-        assertEquals(3, dto.goalsAgainst());
+        assertEquals(new OppRetrospectDTO(2L, "Club 2", 3L, 2L, 0L, 1L, 5L, 3L), dto);
     }
 
     @Test
     @DisplayName("should return correct stats for all matches between two clubs when side is away")
     void getOppRetrospectCase3(){
-        List<Match> matches = List.of(
-                createMatch(3, 1, club1, club2),
-                createMatch(2, 1, club1, club2),
-                createMatch(0, 1, club1, club2)
-        );
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(clubRepository.findById(2L)).thenReturn(Optional.of(club2));
-        when(matchRepository.findAllMatchesBetweenClubs(1L, 2L, "fora")).thenReturn(matches);
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club1, club2));
+        when(headToHeadCache.get(1L, 2L)).thenReturn(headToHead());
 
         OppRetrospectDTO dto = matchService.getOneOppRestrospect(1L, 2L, "fora");
 
-        assertEquals(2L, dto.opponentId());
-        assertEquals("Club 2", dto.opponentName());
-        assertEquals(3, dto.matches());
-        assertEquals(2, dto.victories());
-        assertEquals(0, dto.draws());
-        assertEquals(1, dto.defeats());
-        assertEquals(5, dto.goalsFor());
-        assertEquals(3, dto.goalsAgainst());
+        assertEquals(new OppRetrospectDTO(2L, "Club 2", 2L, 0L, 1L, 1L, 2L, 3L), dto);
     }
 
     @Test
     @DisplayName("should throw NotFoundException when opponent does not exist")
     void getOppRetrospectCase4(){
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(clubRepository.findById(2L)).thenReturn(Optional.empty());
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club1));
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> matchService.getOneOppRestrospect(1L, 2L, null));
         assertEquals("Adversário não encontrado!", ex.getMessage());
+        verifyNoInteractions(headToHeadCache);
     }
 
     @Test
     @DisplayName("should throw NotFoundException when home club does not exist")
     void getOppRetrospectCase5(){
-        when(clubRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club2));
 
         NotFoundException ex = assertThrows(NotFoundException.class,
                 () -> matchService.getOneOppRestrospect(1L, 2L, null));
@@ -784,19 +763,23 @@ class MatchServiceTest {
     @Test
     @DisplayName("should throw BadRequestException when side is invalid")
     void getOppRetrospectCase6(){
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club1));
-        when(clubRepository.findById(2L)).thenReturn(Optional.of(club2));
+        when(clubRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(club1, club2));
 
         BadRequestException ex = assertThrows(BadRequestException.class,
                 () -> matchService.getOneOppRestrospect(1L, 2L, "invalid"));
         assertEquals("Lado inválido!", ex.getMessage());
+        verifyNoInteractions(headToHeadCache);
     }
 
+    @Test
+    @DisplayName("should read the same pair entry from the opponent perspective")
+    void getOppRetrospectCase7(){
+        when(clubRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(club1, club2));
+        when(headToHeadCache.get(2L, 1L)).thenReturn(headToHead());
 
+        OppRetrospectDTO dto = matchService.getOneOppRestrospect(2L, 1L, null);
 
-
-    private Match createMatch(int homeGoals, int awayGoals, Club clubMatch1, Club clubMatch2) {
-        return new Match(clubMatch1, clubMatch2, stadium1, LocalDateTime.now().minusDays(10), homeGoals, awayGoals);
+        assertEquals(new OppRetrospectDTO(1L, "Club 1", 5L, 2L, 1L, 2L, 6L, 7L), dto);
     }
 
     @Test
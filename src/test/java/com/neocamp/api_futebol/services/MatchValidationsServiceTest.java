@@ -1,13 +1,14 @@
 package com.neocamp.api_futebol.services;
 
+import com.neocamp.api_futebol.dtos.response.MatchScheduleDTO;
 import com.neocamp.api_futebol.entities.Club;
-import com.neocamp.api_futebol.entities.Match;
 import com.neocamp.api_futebol.entities.Stadium;
 import com.neocamp.api_futebol.exception.BadRequestException;
 import com.neocamp.api_futebol.exception.ConflictException;
 import com.neocamp.api_futebol.repositories.ClubRepository;
 import com.neocamp.api_futebol.repositories.MatchRepository;
 import com.neocamp.api_futebol.repositories.StadiumRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +19,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,10 @@ class MatchValidationsServiceTest {
     @Mock
     StadiumRepository stadiumRepository;
 
+    MatchScheduleIndex scheduleIndex;
+
+    SimpleMeterRegistry meterRegistry;
+
     MatchValidationsService validations;
 
     Club club1, club2;
@@ -39,7 +48,9 @@ class MatchValidationsServiceTest {
 
     @BeforeEach
     void setUp() {
-        validations = new MatchValidationsService(matchRepository, clubRepository, stadiumRepository);
+        scheduleIndex = new MatchScheduleIndex(matchRepository, true);
+        meterRegistry = new SimpleMeterRegistry();
+        validations = new MatchValidationsService(matchRepository, clubRepository, stadiumRepository, scheduleIndex, meterRegistry);
 
         club1 = new Club();
         club1.setId(1L);
@@ -100,39 +111,90 @@ class MatchValidationsServiceTest {
         ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateDateAfterFoundation(matchDate, club1, club2));
 
         assertEquals("Partida não pode ser criada antes da fundação de algum dos clubes!", ex.getMessage());
+        assertEquals(1, meterRegistry.counter("api.match.validation.rejections", "rule", "before_foundation").count());
     }
 
     @Test
-    @DisplayName("Should validate no near matches")
-    void validateNoNearMatchesTest(){
-        assertDoesNotThrow(() -> validations.validateNoNearMatches(club1, club2, matchDate));
+    @DisplayName("Should validate schedule is available")
+    void validateScheduleAvailableTest(){
+        when(matchRepository.findScheduleConflicts(club1.getId(), club2.getId(), stadium1.getId(), matchDate, MatchRepository.NO_MATCH_ID)).thenReturn(0);
+
+        assertDoesNotThrow(() -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate));
     }
 
     @Test
     @DisplayName("Should validate near matches")
-    void validateNoNearMatchesTestCase2(){
-        Match match1 = new Match(club1, club2, stadium1, matchDate, 3, 1);
-        when(matchRepository.findMatchesNearDateForClub(club1.getId(), matchDate)).thenReturn(List.of(match1));
+    void validateScheduleAvailableTestCase2(){
+        when(matchRepository.findScheduleConflicts(club1.getId(), club2.getId(), stadium1.getId(), matchDate, MatchRepository.NO_MATCH_ID))
+                .thenReturn(MatchRepository.CONFLICT_NEAR_MATCH);
 
-        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateNoNearMatches(club1, club2, matchDate));
+        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate));
 
         assertEquals("Clubes possuem partidas próximas!", ex.getMessage());
     }
 
     @Test
-    @DisplayName("Should validate Stadium is available")
-    void validateStadiumAvailableTest(){
-        assertDoesNotThrow(() -> validations.validateStadiumAvailable(stadium1, matchDate));
+    @DisplayName("Should validate Stadium is not available")
+    void validateScheduleAvailableTestCase3(){
+        when(matchRepository.findScheduleConflicts(club1.getId(), club2.getId(), stadium1.getId(), matchDate, MatchRepository.NO_MATCH_ID))
+                .thenReturn(MatchRepository.CONFLICT_STADIUM_DAY);
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate));
+
+        assertEquals("Estádio já tem partida no mesmo dia.", ex.getMessage());
     }
 
     @Test
-    @DisplayName("Should validate Stadium is not available")
-    void validateStadiumAvailableTestCase2(){
-        Match match1 = new Match(club1, club2, stadium1, matchDate, 3, 1);
-        when(matchRepository.findByStadiumAndDay(stadium1.getId(), matchDate)).thenReturn(List.of(match1));
+    @DisplayName("Should report near matches first when both rules are violated")
+    void validateScheduleAvailableTestCase4(){
+        when(matchRepository.findScheduleConflicts(club1.getId(), club2.getId(), stadium1.getId(), matchDate, 5L))
+                .thenReturn(MatchRepository.CONFLICT_NEAR_MATCH | MatchRepository.CONFLICT_STADIUM_DAY);
 
-        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateStadiumAvailable(stadium1, matchDate));
+        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate, 5L));
 
-        assertEquals("Estádio já tem partida no mesmo dia.", ex.getMessage());
+        assertEquals("Clubes possuem partidas próximas!", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject from the schedule index without querying the database")
+    void validateScheduleAvailableTestCase5(){
+        when(matchRepository.streamAllSchedules()).thenReturn(Stream.empty());
+        scheduleIndex.load();
+        scheduleIndex.register(new MatchScheduleDTO(7L, club2.getId(), 3L, 2L, matchDate.plusHours(10)));
+
+        ConflictException ex = assertThrows(ConflictException.class, () -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate));
+
+        assertEquals("Clubes possuem partidas próximas!", ex.getMessage());
+        verify(matchRepository, never()).findScheduleConflicts(any(), any(), any(), any(), any());
+        assertEquals(1, meterRegistry.counter("api.match.validation.rejections", "rule", "near_match").count());
+        assertEquals(0, meterRegistry.counter("api.match.validation.rejections", "rule", "stadium_day").count());
+    }
+
+    @Test
+    @DisplayName("Should accept from the loaded schedule index without querying the database")
+    void validateScheduleAvailableTestCase6(){
+        when(matchRepository.streamAllSchedules()).thenReturn(Stream.of(new MatchScheduleDTO(7L, club2.getId(), 3L, 2L, matchDate.plusHours(48))));
+        scheduleIndex.load();
+
+        assertDoesNotThrow(() -> validations.validateScheduleAvailable(club1, club2, stadium1, matchDate));
+        verify(matchRepository, never()).findScheduleConflicts(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should find both clubs in one lookup")
+    void findClubsOrThrowTest(){
+        when(clubRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(club1, club2));
+
+        assertEquals(List.of(club2, club1), validations.findClubsOrThrow(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("Should validate club not found")
+    void findClubsOrThrowTestCase2(){
+        when(clubRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(club1));
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> validations.findClubsOrThrow(1L, 3L));
+
+        assertEquals("Clube não encontrado!", ex.getMessage());
     }
 }
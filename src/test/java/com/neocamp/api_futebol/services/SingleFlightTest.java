@@ -0,0 +1,97 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.exception.NotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    // Dispara "callers" chamadas da mesma chave enquanto a primeira está presa no latch
+    private List<Future<String>> runConcurrently(int callers, CountDownLatch release, Runnable onCall) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+        futures.add(executor.submit(() -> singleFlight.execute("cep", () -> {
+            started.countDown();
+            onCall.run();
+            await(release);
+            return "endereço";
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < callers; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute("cep", () -> {
+                onCall.run();
+                return "outro";
+            })));
+        }
+        while (singleFlight.deduplicated() < callers - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        executor.shutdown();
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("should share one in-flight call between concurrent callers")
+    void execute() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> futures = runConcurrently(10, new CountDownLatch(1), calls::incrementAndGet);
+
+        for (Future<String> future : futures) {
+            assertEquals("endereço", future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(9, singleFlight.deduplicated());
+    }
+
+    @Test
+    @DisplayName("should give every waiter the same failure")
+    void executeCase2() throws Exception {
+        NotFoundException failure = new NotFoundException("CEP não encontrado");
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> futures = runConcurrently(5, release, () -> {
+            await(release);
+            throw failure;
+        });
+
+        for (Future<String> future : futures) {
+            Exception ex = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+
+    @Test
+    @DisplayName("should call again once the previous call finished")
+    void executeCase3() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("cep", () -> "a" + calls.incrementAndGet());
+        String second = singleFlight.execute("cep", () -> "a" + calls.incrementAndGet());
+
+        assertEquals("a2", second);
+        assertEquals(0, singleFlight.deduplicated());
+    }
+}
@@ -0,0 +1,123 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.entities.AddressStatus;
+import com.neocamp.api_futebol.entities.Stadium;
+import com.neocamp.api_futebol.exception.NotFoundException;
+import com.neocamp.api_futebol.repositories.StadiumRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StadiumAddressResolverTest {
+    @Mock
+    private StadiumRepository stadiumRepository;
+    @Mock
+    private ViaCepService viaCepService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StadiumAddressResolver resolver;
+
+    private Stadium stadium;
+
+    private Address address;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new StadiumAddressResolver(stadiumRepository, viaCepService, transactionManager,
+                3, Duration.ofMillis(1), Duration.ofMillis(2));
+        stadium = new Stadium("Estádio");
+        stadium.getAddress().setCep("12345-678");
+        stadium.setAddressStatus(AddressStatus.PENDING);
+        address = new Address();
+        address.setCep("12345-678");
+        address.setLocalidade("São Paulo");
+        address.setUf("SP");
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.shutdown();
+    }
+
+    @Test
+    @DisplayName("should fill the address and mark it as resolved")
+    void resolve() throws Exception {
+        when(viaCepService.findByCepWithPermit("12345-678")).thenReturn(address);
+        when(stadiumRepository.findById(1L)).thenReturn(Optional.of(stadium));
+
+        resolver.resolve(1L, "12345-678");
+
+        assertEquals(AddressStatus.RESOLVED, stadium.getAddressStatus());
+        assertEquals("São Paulo", stadium.getAddress().getLocalidade());
+        verify(stadiumRepository).save(stadium);
+    }
+
+    @Test
+    @DisplayName("should retry when ViaCEP is unavailable")
+    void resolveCase2() throws Exception {
+        when(viaCepService.findByCepWithPermit("12345-678"))
+                .thenThrow(new ResourceAccessException("timeout"))
+                .thenThrow(new ResourceAccessException("timeout"))
+                .thenReturn(address);
+        when(stadiumRepository.findById(1L)).thenReturn(Optional.of(stadium));
+
+        resolver.resolve(1L, "12345-678");
+
+        verify(viaCepService, times(3)).findByCepWithPermit("12345-678");
+        assertEquals(AddressStatus.RESOLVED, stadium.getAddressStatus());
+    }
+
+    @Test
+    @DisplayName("should mark the address as failed after the last attempt")
+    void resolveCase3() throws Exception {
+        when(viaCepService.findByCepWithPermit("12345-678")).thenThrow(new ResourceAccessException("timeout"));
+        when(stadiumRepository.findById(1L)).thenReturn(Optional.of(stadium));
+
+        resolver.resolve(1L, "12345-678");
+
+        verify(viaCepService, times(3)).findByCepWithPermit("12345-678");
+        assertEquals(AddressStatus.FAILED, stadium.getAddressStatus());
+        assertNull(stadium.getAddress().getLocalidade());
+    }
+
+    @Test
+    @DisplayName("should not retry a CEP that does not exist")
+    void resolveCase4() throws Exception {
+        when(viaCepService.findByCepWithPermit("12345-678")).thenThrow(new NotFoundException("CEP não encontrado"));
+        when(stadiumRepository.findById(1L)).thenReturn(Optional.of(stadium));
+
+        resolver.resolve(1L, "12345-678");
+
+        verify(viaCepService, times(1)).findByCepWithPermit("12345-678");
+        assertEquals(AddressStatus.FAILED, stadium.getAddressStatus());
+    }
+
+    @Test
+    @DisplayName("should discard the result when the stadium changed CEP meanwhile")
+    void resolveCase5() throws Exception {
+        stadium.getAddress().setCep("87654-321");
+        when(viaCepService.findByCepWithPermit("12345-678")).thenReturn(address);
+        when(stadiumRepository.findById(1L)).thenReturn(Optional.of(stadium));
+
+        resolver.resolve(1L, "12345-678");
+
+        assertEquals(AddressStatus.PENDING, stadium.getAddressStatus());
+        verify(stadiumRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,188 @@
+package com.neocamp.api_futebol.services;
+
+import com.neocamp.api_futebol.entities.Address;
+import com.neocamp.api_futebol.exception.NotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViaCepServiceTest {
+
+    ViaCepStubServer stub;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ViaCepService viaCepService;
+
+    @BeforeEach
+    void setUp() {
+        stub = new ViaCepStubServer().withAddress("20271130", "Rua Professor Eurico Rabelo", "Rio de Janeiro", "RJ");
+        viaCepService = new ViaCepService(OfflineCepResolver.disabled(), meterRegistry, stub.baseUrl(), Duration.ofSeconds(1), Duration.ofMillis(300),
+                100, Duration.ofHours(1), Duration.ofMinutes(1), 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("should call ViaCEP once per CEP and serve repeats from the cache")
+    void findByCep() {
+        Address first = viaCepService.findByCep("20271-130");
+        Address second = viaCepService.findByCep("20271130");
+
+        assertEquals("20271-130", first.getCep());
+        assertEquals("Rio de Janeiro", second.getLocalidade());
+        assertEquals(1, stub.calls("20271130"));
+        assertEquals(1, viaCepService.cacheStats().hits());
+        assertEquals(1, viaCepService.cacheStats().misses());
+        assertEquals(1, meterRegistry.get("viacep.requests").tag("outcome", "found").timer().count());
+        assertEquals(1, meterRegistry.get("viacep.cache.hits").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("should cache CEP not found")
+    void findByCepCase2() {
+        assertThrows(NotFoundException.class, () -> viaCepService.findByCep("99999999"));
+        assertThrows(NotFoundException.class, () -> viaCepService.findByCep("99999-999"));
+
+        assertEquals(1, stub.calls("99999999"));
+        assertEquals(1, meterRegistry.get("viacep.requests").tag("outcome", "not_found").timer().count());
+    }
+
+    @Test
+    @DisplayName("should give up when ViaCEP is slower than the read timeout")
+    void findByCepCase3() {
+        stub.setDelayMillis(2000);
+
+        assertThrows(ResourceAccessException.class, () -> viaCepService.findByCep("20271130"));
+        assertEquals(0, viaCepService.cacheStats().size());
+        assertEquals(1, meterRegistry.get("viacep.requests").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("should make one ViaCEP call for concurrent lookups of the same CEP")
+    void findByCepCase4() throws Exception {
+        stub.setDelayMillis(200);
+        viaCepService = new ViaCepService(OfflineCepResolver.disabled(), meterRegistry, stub.baseUrl(), Duration.ofSeconds(1), Duration.ofSeconds(2),
+                100, Duration.ofHours(1), Duration.ofMinutes(1), 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Address>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return viaCepService.findByCep("20271130");
+            }));
+        }
+        start.countDown();
+
+        List<Address> addresses = new ArrayList<>();
+        for (Future<Address> future : futures) {
+            addresses.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, stub.calls("20271130"));
+        assertEquals(7, viaCepService.deduplicatedLookups() + viaCepService.cacheStats().hits());
+        assertEquals(8, addresses.stream().map(System::identityHashCode).distinct().count());
+    }
+
+    @Test
+    @DisplayName("should resolve from the local dataset and fall back to ViaCEP on misses")
+    void findByCepCase5(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("ceps.csv");
+        Path dataset = dir.resolve("ceps.bin");
+        Files.writeString(csv, "cep,logradouro,bairro,localidade,uf\n01001000,Praça da Sé,Sé,São Paulo,SP\n");
+        CepDatasetConverter.main(new String[]{csv.toString(), dataset.toString()});
+        viaCepService = new ViaCepService(new OfflineCepResolver(dataset.toString()), meterRegistry, stub.baseUrl(),
+                Duration.ofSeconds(1), Duration.ofMillis(300), 100, Duration.ofHours(1), Duration.ofMinutes(1), 4);
+
+        assertEquals("São Paulo", viaCepService.findByCep("01001-000").getLocalidade());
+        assertEquals("Rio de Janeiro", viaCepService.findByCep("20271130").getLocalidade());
+
+        assertEquals(0, stub.calls("01001000"));
+        assertEquals(1, stub.calls("20271130"));
+    }
+
+    @Test
+    @DisplayName("should resolve distinct CEPs in parallel and key each result by the caller's CEP")
+    void findAllByCep() {
+        Map<String, ViaCepService.CepLookup> results = viaCepService.findAllByCep(List.of("20271-130", "20271130", "99999999"));
+
+        assertEquals(3, results.size());
+        assertEquals("Rio de Janeiro", results.get("20271130").address().getLocalidade());
+        assertNull(results.get("20271130").error());
+        // cada formato do mesmo CEP tem sua chave, com o resultado da mesma consulta
+        assertSame(results.get("20271130"), results.get("20271-130"));
+        assertNull(results.get("99999999").address());
+        assertEquals("CEP não encontrado", results.get("99999999").error());
+        assertEquals(1, stub.calls("20271130"));
+    }
+
+    @Test
+    @DisplayName("should not exceed the configured concurrency against ViaCEP")
+    void findAllByCepCase2() {
+        List<String> ceps = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String cep = "3000000" + i;
+            stub.withAddress(cep, "Rua " + i, "Belo Horizonte", "MG");
+            ceps.add(cep);
+        }
+        stub.setDelayMillis(150);
+
+        long start = System.nanoTime();
+        Map<String, ViaCepService.CepLookup> results = viaCepService.findAllByCep(ceps);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(results.values().stream().allMatch(result -> result.address() != null));
+        // 8 CEPs com no máximo 4 simultâneos: pelo menos duas rodadas de 150 ms
+        assertTrue(elapsedMillis >= 300, "terminou em " + elapsedMillis + " ms");
+    }
+
+    @Test
+    @DisplayName("should hold single lookups with permit to the same concurrency limit")
+    void findByCepWithPermit() throws Exception {
+        List<String> ceps = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String cep = "4000000" + i;
+            stub.withAddress(cep, "Rua " + i, "Curitiba", "PR");
+            ceps.add(cep);
+        }
+        stub.setDelayMillis(150);
+
+        long start = System.nanoTime();
+        List<Future<Address>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String cep : ceps) {
+                futures.add(executor.submit(() -> viaCepService.findByCepWithPermit(cep)));
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        for (Future<Address> future : futures) {
+            assertEquals("Curitiba", future.get().getLocalidade());
+        }
+        // mesmo limite de 4 do lote, agora entre chamadas avulsas (como as do StadiumAddressResolver)
+        assertTrue(elapsedMillis >= 300, "terminou em " + elapsedMillis + " ms");
+    }
+}
@@ -0,0 +1,98 @@
+package com.neocamp.api_futebol.services;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ViaCEP falso em localhost para os testes não dependerem da rede.
+// CEP cadastrado devolve o endereço; qualquer outro devolve {"erro": "true"}, como o ViaCEP.
+public class ViaCepStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final Map<String, String> addresses = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+    private volatile long delayMillis;
+
+    private volatile String anyCepTemplate;
+
+    public ViaCepStubServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        server.createContext("/ws/", exchange -> {
+            // /ws/{cep}/json/
+            String cep = exchange.getRequestURI().getPath().split("/")[2];
+            calls.computeIfAbsent(cep, key -> new AtomicInteger()).incrementAndGet();
+            sleep();
+            byte[] body = addresses.getOrDefault(cep, anyCepTemplate == null ? "{\"erro\": \"true\"}"
+                    : anyCepTemplate.formatted(cep.substring(0, 5), cep.substring(5))).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // várias requisições ao mesmo tempo, mesmo com atraso configurado
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/ws";
+    }
+
+    public ViaCepStubServer withAddress(String cep, String logradouro, String localidade, String uf) {
+        addresses.put(cep, """
+                {"cep": "%s-%s", "logradouro": "%s", "bairro": "Centro", "localidade": "%s", "uf": "%s"}
+                """.formatted(cep.substring(0, 5), cep.substring(5), logradouro, localidade, uf));
+        return this;
+    }
+
+    // Responde qualquer CEP com o mesmo endereço (testes de carga com CEPs sempre novos)
+    public ViaCepStubServer withAnyCep(String localidade, String uf) {
+        anyCepTemplate = """
+                {"cep": "%%s-%%s", "logradouro": "Rua Carga", "bairro": "Centro", "localidade": "%s", "uf": "%s"}
+                """.formatted(localidade, uf);
+        return this;
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public int calls(String cep) {
+        AtomicInteger count = calls.get(cep);
+        return count == null ? 0 : count.get();
+    }
+
+    private void sleep() {
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}